@@ -0,0 +1,33 @@
+package com.fulfilment.application.monolith.benchmark;
+
+import com.fulfilment.application.monolith.exception.InvalidLocationException;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class InMemoryLocationResolver implements LocationResolver {
+
+    private final Map<String, Location> locations = new HashMap<>();
+
+    public InMemoryLocationResolver(int locationCount, int maxNumberOfWarehouses, int maxCapacity) {
+        for (int i = 0; i < locationCount; i++) {
+            String identification = locationIdentifier(i);
+            locations.put(identification, new Location(identification, maxNumberOfWarehouses, maxCapacity));
+        }
+    }
+
+    public static String locationIdentifier(int index) {
+        return String.format("LOCATION-%05d", index);
+    }
+
+    @Override
+    public Location resolveByIdentifier(String identifier) {
+        Location location = locations.get(identifier);
+        if (location == null) {
+            throw new InvalidLocationException("Unknown location identifier: " + identifier);
+        }
+        return location;
+    }
+}
@@ -0,0 +1,220 @@
+package com.fulfilment.application.monolith.benchmark;
+
+import com.fulfilment.application.monolith.exception.WarehouseNotFoundException;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationTotals;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseCreationCheck;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseSearchCriteria;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseSearchCursor;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseSearchPage;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps warehouses in plain maps so benchmarks measure the code under test rather than the database.
+ */
+public class InMemoryWarehouseStore implements WarehouseStore {
+
+    private final TreeMap<Long, Warehouse> warehousesById = new TreeMap<>();
+    private final Map<String, Warehouse> warehousesByBusinessUnitCode = new HashMap<>();
+    // active warehouses and their summed capacity per location, kept current on every write as location_totals is
+    private final Map<String, LocationTotals> totalsByLocation = new HashMap<>();
+    private long nextId = 1;
+
+    @Override
+    public List<Warehouse> getAllWarehouses() {
+        return new ArrayList<>(warehousesById.values());
+    }
+
+    @Override
+    public List<Warehouse> getWarehousesPage(Long afterId, int limit) {
+        Collection<Warehouse> tail = afterId == null ? warehousesById.values() : warehousesById.tailMap(afterId, false).values();
+        return tail.stream().limit(limit).toList();
+    }
+
+    @Override
+    public WarehouseSearchPage search(WarehouseSearchCriteria criteria) {
+        ToLongFunction<Warehouse> sortKey = switch (criteria.sort()) {
+            case ID -> Warehouse::getWareHouseId;
+            case CAPACITY -> Warehouse::getCapacity;
+            case STOCK -> Warehouse::getStock;
+            case FREE_CAPACITY -> warehouse -> warehouse.getCapacity() - warehouse.getStock();
+        };
+        Comparator<Warehouse> order = Comparator.comparingLong(sortKey).thenComparing(Warehouse::getWareHouseId);
+        if (criteria.descending()) {
+            order = order.reversed();
+        }
+        WarehouseSearchCursor after = criteria.after();
+        List<Warehouse> matches = warehousesById.values().stream()
+                .filter(warehouse -> criteria.location() == null || criteria.location().equals(warehouse.getLocation()))
+                .filter(warehouse -> switch (criteria.status()) {
+                    case ACTIVE -> warehouse.getArchivedAt() == null;
+                    case ARCHIVED -> warehouse.getArchivedAt() != null;
+                    case ALL -> true;
+                })
+                .filter(warehouse -> criteria.minCapacity() == null || warehouse.getCapacity() >= criteria.minCapacity())
+                .filter(warehouse -> criteria.maxCapacity() == null || warehouse.getCapacity() <= criteria.maxCapacity())
+                .filter(warehouse -> criteria.minStock() == null || warehouse.getStock() >= criteria.minStock())
+                .filter(warehouse -> criteria.maxStock() == null || warehouse.getStock() <= criteria.maxStock())
+                .filter(warehouse -> criteria.minFreeCapacity() == null
+                        || warehouse.getCapacity() - warehouse.getStock() >= criteria.minFreeCapacity())
+                .filter(warehouse -> after == null
+                        || compareToCursor(sortKey.applyAsLong(warehouse), warehouse.getWareHouseId(), after, criteria.descending()) > 0)
+                .sorted(order)
+                .limit(criteria.limit() + 1L)
+                .toList();
+        boolean hasNext = matches.size() > criteria.limit();
+        List<Warehouse> page = hasNext ? matches.subList(0, criteria.limit()) : matches;
+        Warehouse last = hasNext ? page.get(page.size() - 1) : null;
+        return new WarehouseSearchPage(page, last == null ? null : new WarehouseSearchCursor(sortKey.applyAsLong(last), last.getWareHouseId()));
+    }
+
+    private static int compareToCursor(long sortValue, long id, WarehouseSearchCursor after, boolean descending) {
+        int comparison = sortValue != after.sortValue() ? Long.compare(sortValue, after.sortValue()) : Long.compare(id, after.id());
+        return descending ? -comparison : comparison;
+    }
+
+    @Override
+    public void streamAllWarehouses(Consumer<Warehouse> consumer) {
+        warehousesById.values().forEach(consumer);
+    }
+
+    @Override
+    public Warehouse create(Warehouse warehouse) {
+        warehouse.setWareHouseId(nextId++);
+        warehousesById.put(warehouse.getWareHouseId(), warehouse);
+        warehousesByBusinessUnitCode.put(warehouse.getBusinessUnitCode(), warehouse);
+        if (warehouse.getArchivedAt() == null) {
+            countActive(warehouse, 1);
+        }
+        return warehouse;
+    }
+
+    @Override
+    public List<Warehouse> createAll(List<Warehouse> warehouses) {
+        warehouses.forEach(this::create);
+        return warehouses;
+    }
+
+    @Override
+    public void update(Warehouse warehouse) {
+        Warehouse existing = warehousesById.get(warehouse.getWareHouseId());
+        if (existing == null) {
+            throw new WarehouseNotFoundException("Warehouse not found with id: " + warehouse.getWareHouseId());
+        }
+        remove(existing);
+        warehousesById.put(warehouse.getWareHouseId(), warehouse);
+        warehousesByBusinessUnitCode.put(warehouse.getBusinessUnitCode(), warehouse);
+        if (warehouse.getArchivedAt() == null) {
+            countActive(warehouse, 1);
+        }
+    }
+
+    @Override
+    public Warehouse replace(Warehouse current, Warehouse successor) {
+        Warehouse active = warehousesByBusinessUnitCode.get(current.getBusinessUnitCode());
+        if (active != null) {
+            active.setArchivedAt(ZonedDateTime.now());
+            warehousesByBusinessUnitCode.remove(active.getBusinessUnitCode());
+            countActive(active, -1);
+        }
+        successor.setWareHouseId(null);
+        successor.setArchivedAt(null);
+        return create(successor);
+    }
+
+    @Override
+    public Warehouse findByWarehouseId(String id) {
+        Warehouse warehouse = warehousesById.get(Long.valueOf(id));
+        if (warehouse == null) {
+            throw new WarehouseNotFoundException("Warehouse not found with id: " + id);
+        }
+        return warehouse;
+    }
+
+    @Override
+    public void archive(String id) {
+        Warehouse warehouse = findByWarehouseId(id);
+        if (warehouse.getArchivedAt() == null) {
+            countActive(warehouse, -1);
+            warehouse.setArchivedAt(ZonedDateTime.now());
+        }
+    }
+
+    @Override
+    public void remove(Warehouse warehouse) {
+        Warehouse removed = warehousesById.remove(warehouse.getWareHouseId());
+        if (removed == null) {
+            throw new WarehouseNotFoundException("Warehouse not found with id: " + warehouse.getWareHouseId());
+        }
+        warehousesByBusinessUnitCode.remove(removed.getBusinessUnitCode());
+        if (removed.getArchivedAt() == null) {
+            countActive(removed, -1);
+        }
+    }
+
+    @Override
+    public Warehouse findByBusinessUnitCode(String buCode) {
+        return warehousesByBusinessUnitCode.get(buCode);
+    }
+
+    @Override
+    public boolean existsByBusinessUnitCode(String businessUnitCode) {
+        return warehousesByBusinessUnitCode.containsKey(businessUnitCode);
+    }
+
+    @Override
+    public Set<String> findExistingBusinessUnitCodes(Collection<String> businessUnitCodes) {
+        return businessUnitCodes.stream().filter(warehousesByBusinessUnitCode::containsKey).collect(Collectors.toSet());
+    }
+
+    @Override
+    public int countByLocation(String locationId) {
+        LocationTotals totals = totalsByLocation.get(locationId);
+        return totals == null ? 0 : totals.activeWarehouses();
+    }
+
+    @Override
+    public long capacityByLocation(String locationId) {
+        LocationTotals totals = totalsByLocation.get(locationId);
+        return totals == null ? 0 : totals.capacity();
+    }
+
+    @Override
+    public WarehouseCreationCheck lockLocationForCreation(String businessUnitCode, String locationId) {
+        return new WarehouseCreationCheck(existsByBusinessUnitCode(businessUnitCode), countByLocation(locationId), capacityByLocation(locationId));
+    }
+
+    @Override
+    public Map<String, LocationTotals> lockLocationsForCreation(Collection<String> locationIds) {
+        Map<String, LocationTotals> totals = new HashMap<>();
+        for (String locationId : locationIds) {
+            LocationTotals locationTotals = totalsByLocation.get(locationId);
+            if (locationTotals != null) {
+                totals.put(locationId, locationTotals);
+            }
+        }
+        return totals;
+    }
+
+    // sign is 1 when the warehouse becomes active, -1 when it stops being; a location without any is dropped
+    private void countActive(Warehouse warehouse, int sign) {
+        long capacity = warehouse.getCapacity() == null ? 0 : warehouse.getCapacity();
+        totalsByLocation.merge(warehouse.getLocation(), new LocationTotals(sign, sign * capacity), (current, change) -> {
+            int activeWarehouses = current.activeWarehouses() + change.activeWarehouses();
+            return activeWarehouses == 0 ? null : new LocationTotals(activeWarehouses, current.capacity() + change.capacity());
+        });
+    }
+}
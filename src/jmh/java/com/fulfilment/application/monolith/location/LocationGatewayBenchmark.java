@@ -0,0 +1,71 @@
+package com.fulfilment.application.monolith.location;
+
+import com.fulfilment.application.monolith.benchmark.InMemoryLocationResolver;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocationGatewayBenchmark {
+
+    @Param({"8", "1000", "10000"})
+    int locationCount;
+
+    private Path locationsFile;
+    private LocationGateway locationGateway;
+    private String[] identifiers;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        StringBuilder csv = new StringBuilder("identification,maxNumberOfWarehouses,maxCapacity\n");
+        identifiers = new String[locationCount];
+        for (int i = 0; i < locationCount; i++) {
+            String identification = InMemoryLocationResolver.locationIdentifier(i);
+            csv.append(identification).append(",5,100\n");
+            // callers do not always send the canonical case
+            identifiers[i] = i % 2 == 0 ? identification : identification.toLowerCase(Locale.ROOT);
+        }
+        locationsFile = Files.createTempFile("locations", ".csv");
+        Files.writeString(locationsFile, csv);
+
+        locationGateway = new LocationGateway();
+        locationGateway.locationsFile = Optional.of(locationsFile.toString());
+        locationGateway.reloadIfChanged();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(locationsFile);
+    }
+
+    @Benchmark
+    public Location resolveByIdentifier() {
+        String identifier = identifiers[next];
+        next = next + 1 == identifiers.length ? 0 : next + 1;
+        return locationGateway.resolveByIdentifier(identifier);
+    }
+}
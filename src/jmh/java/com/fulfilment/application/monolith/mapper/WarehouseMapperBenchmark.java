@@ -0,0 +1,75 @@
+package com.fulfilment.application.monolith.mapper;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WarehouseMapperBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    int warehouseCount;
+
+    private List<DbWarehouse> dbWarehouses;
+    private List<Warehouse> warehouses;
+    private List<com.warehouse.api.beans.Warehouse> warehouseBeans;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dbWarehouses = new ArrayList<>(warehouseCount);
+        for (int i = 0; i < warehouseCount; i++) {
+            DbWarehouse dbWarehouse = new DbWarehouse();
+            dbWarehouse.setId((long) i + 1);
+            dbWarehouse.setBusinessUnitCode("MWH." + i);
+            dbWarehouse.setLocation("AMSTERDAM-001");
+            dbWarehouse.setCapacity(100);
+            dbWarehouse.setStock(i % 100);
+            dbWarehouse.setCreatedAt(LocalDateTime.of(2024, 7, 1, 0, 0));
+            dbWarehouse.setArchivedAt(i % 10 == 0 ? LocalDateTime.of(2025, 1, 1, 0, 0) : null);
+            dbWarehouses.add(dbWarehouse);
+        }
+        warehouses = dbWarehouses.stream().map(WarehouseMapper::mapToWarehouse).toList();
+        warehouseBeans = warehouses.stream().map(WarehouseMapper::mapToWarehouseBean).toList();
+    }
+
+    @Benchmark
+    public List<Warehouse> dbWarehouseToWarehouse() {
+        return dbWarehouses.stream().map(WarehouseMapper::mapToWarehouse).toList();
+    }
+
+    @Benchmark
+    public List<com.warehouse.api.beans.Warehouse> warehouseToBean() {
+        return warehouses.stream().map(WarehouseMapper::mapToWarehouseBean).toList();
+    }
+
+    @Benchmark
+    public List<Warehouse> beanToWarehouse() {
+        return warehouseBeans.stream().map(WarehouseMapper::mapToWarehouse).toList();
+    }
+
+    @Benchmark
+    public List<DbWarehouse> warehouseToDbWarehouse() {
+        return warehouses.stream().map(WarehouseMapper::mapToDBWarehouse).toList();
+    }
+}
@@ -0,0 +1,51 @@
+package com.fulfilment.application.monolith.products;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reserve and release of one unit of a single hot product from eight threads at once, on the striped counter and
+ * on a single compare-and-set counter with the same floor check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class StripedStockCounterBenchmark {
+
+    private final StripedStockCounter striped = new StripedStockCounter(16, 1_000_000);
+    private final AtomicLong single = new AtomicLong(1_000_000);
+
+    @Benchmark
+    public boolean striped() {
+        boolean reserved = striped.tryReserve(1);
+        striped.release(1);
+        return reserved;
+    }
+
+    @Benchmark
+    public boolean singleCounter() {
+        long current;
+        while ((current = single.get()) >= 1) {
+            if (single.compareAndSet(current, current - 1)) {
+                single.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,101 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import com.fulfilment.application.monolith.mapper.WarehouseMapper;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a page of warehouses as managed entities with selecting it into {@link WarehouseRow} records,
+ * both through a fresh session per invocation like a request. Unlike the other benchmarks this one needs a
+ * PostgreSQL database with the application schema, for example the dev services one of {@code ./mvnw quarkus:dev}:
+ *
+ * <pre>
+ * ./mvnw -Pbenchmarks -DskipTests test-compile exec:exec \
+ *   -Djmh.args="-prof gc -jvmArgs -Dbenchmark.jdbc.url=jdbc:postgresql://localhost:5432/quarkus WarehouseReadPathBenchmark"
+ * </pre>
+ *
+ * The benchmark rows get negative ids so they never collide with the application's, and are deleted afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WarehouseReadPathBenchmark {
+
+    @Param({"100", "1000"})
+    int warehouseCount;
+
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/quarkus"))
+                .applySetting(AvailableSettings.JAKARTA_JDBC_USER, System.getProperty("benchmark.jdbc.user", "quarkus"))
+                .applySetting(AvailableSettings.JAKARTA_JDBC_PASSWORD, System.getProperty("benchmark.jdbc.password", "quarkus"))
+                .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, false)
+                .build();
+        sessionFactory = new MetadataSources(registry).addAnnotatedClass(DbWarehouse.class).buildMetadata().buildSessionFactory();
+
+        sessionFactory.inTransaction(session -> {
+            deleteBenchmarkRows(session);
+            session.createNativeMutationQuery("INSERT INTO warehouse (id, businessUnitCode, location, capacity, stock, createdAt, archivedAt, version)"
+                            + " SELECT -g, 'BENCH.' || g, 'AMSTERDAM-001', 100, g % 100, now(), now(), 0 FROM generate_series(1, :count) g")
+                    .setParameter("count", warehouseCount)
+                    .executeUpdate();
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        sessionFactory.inTransaction(WarehouseReadPathBenchmark::deleteBenchmarkRows);
+        sessionFactory.close();
+    }
+
+    private static void deleteBenchmarkRows(Session session) {
+        session.createNativeMutationQuery("DELETE FROM warehouse WHERE id < 0").executeUpdate();
+    }
+
+    @Benchmark
+    public List<Warehouse> managedEntities() {
+        return sessionFactory.fromTransaction(session -> session
+                .createQuery("from DbWarehouse w where w.id < 0 order by w.id", DbWarehouse.class)
+                .getResultList()
+                .stream()
+                .map(WarehouseMapper::mapToWarehouse)
+                .toList());
+    }
+
+    @Benchmark
+    public List<Warehouse> recordProjection() {
+        return sessionFactory.fromTransaction(session -> session
+                .createQuery(WarehouseRow.SELECT + " where w.id < 0 order by w.id", WarehouseRow.class)
+                .getResultList()
+                .stream()
+                .map(WarehouseMapper::mapToWarehouse)
+                .toList());
+    }
+}
@@ -0,0 +1,96 @@
+package com.fulfilment.application.monolith.warehouses.validation;
+
+import com.fulfilment.application.monolith.benchmark.InMemoryLocationResolver;
+import com.fulfilment.application.monolith.benchmark.InMemoryWarehouseStore;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.fulfilment.application.monolith.benchmark.InMemoryLocationResolver.locationIdentifier;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DefaultWarehouseValidatorBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"10", "1000"})
+    int locationCount;
+
+    @Param({"100", "10000"})
+    int warehouseCount;
+
+    private DefaultWarehouseValidator validator;
+    private Warehouse[] candidates;
+    private List<Warehouse> batch;
+    private Warehouse replacement;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryWarehouseStore warehouseStore = new InMemoryWarehouseStore();
+        // no location ever fills up, so every candidate runs through all checks
+        InMemoryLocationResolver locationResolver = new InMemoryLocationResolver(locationCount, warehouseCount + BATCH_SIZE + 1, 1000);
+        for (int i = 0; i < warehouseCount; i++) {
+            warehouseStore.create(warehouse("MWH." + i, locationIdentifier(i % locationCount), 100, 10));
+        }
+        validator = new DefaultWarehouseValidator(warehouseStore, locationResolver);
+
+        candidates = new Warehouse[locationCount];
+        for (int i = 0; i < locationCount; i++) {
+            candidates[i] = warehouse("NEW." + i, locationIdentifier(i), 100, 10);
+        }
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(warehouse("BATCH." + i, locationIdentifier(i % locationCount), 100, 10));
+        }
+        replacement = warehouse("MWH.0", locationIdentifier(0), 100, 10);
+    }
+
+    @Benchmark
+    public Warehouse validateForCreateWarehouse() {
+        Warehouse candidate = candidates[next];
+        next = next + 1 == candidates.length ? 0 : next + 1;
+        validator.validateForCreateWarehouse(candidate);
+        return candidate;
+    }
+
+    @Benchmark
+    public Map<Integer, String> validateForBatchCreateWarehouses() {
+        return validator.validateForBatchCreateWarehouses(batch);
+    }
+
+    @Benchmark
+    public Warehouse validateForReplaceWarehouse() {
+        validator.validateForReplaceWarehouse(replacement);
+        return replacement;
+    }
+
+    private static Warehouse warehouse(String businessUnitCode, String location, int capacity, int stock) {
+        return Warehouse.builder()
+                .businessUnitCode(businessUnitCode)
+                .location(location)
+                .capacity(capacity)
+                .stock(stock)
+                .build();
+    }
+}
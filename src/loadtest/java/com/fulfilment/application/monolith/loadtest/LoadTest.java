@@ -0,0 +1,75 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load test: a fixed number of concurrent clients send a weighted mix of warehouse, store and
+ * product requests for a warm-up and a measured period, then throughput and p50/p99/p99.9 latencies are reported
+ * per operation from HdrHistogram. Latencies are measured from the moment a client sends a request, so they don't
+ * include time a request would have waited at a fixed arrival rate.
+ *
+ * <p>Without a {@code url} the packaged application is started against an embedded PostgreSQL server, see
+ * {@link LocalApplication}. The results are written to {@code results}; with {@code baseline} they are compared with
+ * an earlier run and the load test fails when throughput dropped or p99 grew by more than the allowed percentage.
+ *
+ * <p>Arguments are {@code key=value} pairs, all optional, for example
+ * {@code clients=200 warmup=10 duration=30 mix=list-warehouses:80,create-warehouse:20 baseline=src/loadtest/baseline.json}.
+ * See {@link LoadTestOptions} for the keys.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        Report report;
+        try (LocalApplication application = options.url().isPresent() ? null : LocalApplication.start(options.appJar(), options.appProperties())) {
+            String baseUrl = options.url().orElseGet(() -> application.url());
+            // an already running application only knows its own locations, creations there soon hit their limits
+            List<String> locations = application != null ? LocalApplication.LOCATIONS : List.of("AMSTERDAM-001");
+            report = run(options, baseUrl, locations);
+        }
+
+        report.print();
+        report.write(options.results());
+        // compared before it may be overwritten by this run
+        List<String> regressions = List.of();
+        if (options.baseline().isPresent() && Files.exists(options.baseline().get())) {
+            regressions = report.compareWith(Report.read(options.baseline().get()), options.maxThroughputDrop(), options.maxP99Increase());
+        }
+        if (options.saveBaseline().isPresent()) {
+            report.write(options.saveBaseline().get());
+            System.out.println("saved as baseline " + options.saveBaseline().get());
+        }
+        if (!regressions.isEmpty()) {
+            regressions.forEach(regression -> System.out.println("REGRESSION: " + regression));
+            System.exit(1);
+        }
+    }
+
+    private static Report run(LoadTestOptions options, String baseUrl, List<String> locations) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        long recordFrom = System.nanoTime() + options.warmup().toNanos();
+        long deadline = recordFrom + options.duration().toNanos();
+        // business unit codes stay unique when the same database is loaded several times
+        String run = Long.toString(System.currentTimeMillis(), 36).toUpperCase();
+
+        List<LoadTestClient> clients = new ArrayList<>(options.clients());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<LoadTestClient>> results = new ArrayList<>(options.clients());
+            for (int i = 0; i < options.clients(); i++) {
+                results.add(executor.submit(new LoadTestClient(client, baseUrl, options.mix(), locations, "LT." + run + "." + i + ".", recordFrom, deadline)));
+            }
+            for (Future<LoadTestClient> result : results) {
+                clients.add(result.get());
+            }
+        }
+        return Report.of(options, clients);
+    }
+}
@@ -0,0 +1,118 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * One closed-loop client: sends the next request as soon as the previous one has been answered, until the deadline.
+ * Requests that start before the end of the warm-up are sent but not recorded.
+ */
+final class LoadTestClient implements Callable<LoadTestClient> {
+
+    // anything slower is recorded as a minute, which is already far past the request timeout
+    static final long HIGHEST_LATENCY = Duration.ofMinutes(1).toNanos();
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final TrafficMix mix;
+    private final List<String> locations;
+    private final String codePrefix;
+    private final long recordFrom;
+    private final long deadline;
+
+    private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+    private final Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+    private final Deque<String> createdWarehouseIds = new ArrayDeque<>();
+    private int created;
+
+    LoadTestClient(HttpClient httpClient, String baseUrl, TrafficMix mix, List<String> locations, String codePrefix, long recordFrom, long deadline) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.mix = mix;
+        this.locations = locations;
+        this.codePrefix = codePrefix;
+        this.recordFrom = recordFrom;
+        this.deadline = deadline;
+    }
+
+    @Override
+    public LoadTestClient call() {
+        long start;
+        while ((start = System.nanoTime()) < deadline) {
+            Operation operation = mix.pick();
+            if (operation == Operation.ARCHIVE_WAREHOUSE && createdWarehouseIds.isEmpty()) {
+                operation = Operation.CREATE_WAREHOUSE;
+            }
+
+            boolean failed;
+            try {
+                HttpResponse<String> response = httpClient.send(request(operation), HttpResponse.BodyHandlers.ofString());
+                failed = response.statusCode() >= 400;
+                if (!failed && operation == Operation.CREATE_WAREHOUSE) {
+                    createdWarehouseIds.add(MAPPER.readTree(response.body()).path("id").asText());
+                }
+            } catch (Exception e) {
+                failed = true;
+            }
+
+            if (start >= recordFrom) {
+                latencies.computeIfAbsent(operation, ignored -> new Histogram(HIGHEST_LATENCY, 3))
+                        .recordValue(Math.min(System.nanoTime() - start, HIGHEST_LATENCY));
+                if (failed) {
+                    errors.merge(operation, 1L, Long::sum);
+                }
+            }
+        }
+        return this;
+    }
+
+    Map<Operation, Histogram> latencies() {
+        return latencies;
+    }
+
+    Map<Operation, Long> errors() {
+        return errors;
+    }
+
+    private HttpRequest request(Operation operation) {
+        return switch (operation) {
+            case LIST_WAREHOUSES -> get("/warehouse");
+            case LIST_STORES -> get("/stores");
+            case LIST_PRODUCTS -> get("/product");
+            case CREATE_WAREHOUSE -> builder("/warehouse")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(newWarehouse()))
+                    .build();
+            case ARCHIVE_WAREHOUSE -> builder("/warehouse/" + createdWarehouseIds.poll()).DELETE().build();
+        };
+    }
+
+    private String newWarehouse() {
+        int number = created++;
+        return """
+                {"businessUnitCode": "%s%d", "location": "%s", "capacity": 10, "stock": 0}"""
+                .formatted(codePrefix, number, locations.get(number % locations.size()));
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+    }
+}
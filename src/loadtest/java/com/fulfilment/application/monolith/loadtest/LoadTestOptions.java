@@ -0,0 +1,72 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Settings of a run, given as {@code key=value} arguments. Keys starting with {@code app.} are passed on as system
+ * properties to the application when the load test starts it, e.g. {@code app.quarkus.virtual-threads.enabled=false}.
+ */
+record LoadTestOptions(Optional<String> url,
+                       int clients,
+                       Duration warmup,
+                       Duration duration,
+                       TrafficMix mix,
+                       Path results,
+                       Optional<Path> baseline,
+                       Optional<Path> saveBaseline,
+                       double maxThroughputDrop,
+                       double maxP99Increase,
+                       Path appJar,
+                       Map<String, String> appProperties) {
+
+    // as many archives as creates, so the generated locations don't fill up during a long run
+    static final String DEFAULT_MIX = "list-warehouses:30,list-stores:20,list-products:30,create-warehouse:10,archive-warehouse:10";
+
+    static LoadTestOptions parse(String... args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        Map<String, String> appProperties = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value but got: " + arg);
+            }
+            String key = arg.substring(0, separator);
+            String value = arg.substring(separator + 1);
+            if (key.startsWith("app.")) {
+                appProperties.put(key.substring("app.".length()), value);
+            } else {
+                values.put(key, value);
+            }
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                Optional.ofNullable(values.remove("url")),
+                Integer.parseInt(values.getOrDefault("clients", "100")),
+                seconds(values.getOrDefault("warmup", "10")),
+                seconds(values.getOrDefault("duration", "30")),
+                TrafficMix.parse(values.getOrDefault("mix", DEFAULT_MIX)),
+                Path.of(values.getOrDefault("results", "target/loadtest/results.json")),
+                Optional.ofNullable(values.get("baseline")).map(Path::of),
+                Optional.ofNullable(values.get("save-baseline")).map(Path::of),
+                Double.parseDouble(values.getOrDefault("max-throughput-drop", "10")),
+                Double.parseDouble(values.getOrDefault("max-p99-increase", "20")),
+                Path.of(values.getOrDefault("app-jar", "target/quarkus-app/quarkus-run.jar")),
+                appProperties);
+        values.keySet().removeAll(Set.of("clients", "warmup", "duration", "mix", "results", "baseline", "save-baseline",
+                "max-throughput-drop", "max-p99-increase", "app-jar"));
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown options: " + values.keySet());
+        }
+        return options;
+    }
+
+    // whole seconds, with or without a trailing s
+    private static Duration seconds(String value) {
+        return Duration.ofSeconds(Long.parseLong(value.endsWith("s") ? value.substring(0, value.length() - 1) : value));
+    }
+}
@@ -0,0 +1,127 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * The packaged application started in a child JVM against an embedded PostgreSQL server, which runs the real
+ * database binaries from a Maven artifact without Docker. Flyway creates the schema and the sample rows on start.
+ * The application gets a generated locations file whose locations have room for every warehouse a run creates, so
+ * creations measure the write path rather than the rejections.
+ */
+final class LocalApplication implements AutoCloseable {
+
+    static final List<String> LOCATIONS = IntStream.rangeClosed(1, 100).mapToObj(i -> "LOADTEST-%03d".formatted(i)).toList();
+
+    private static final Path WORK_DIRECTORY = Path.of("target", "loadtest");
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+
+    private final EmbeddedPostgres postgres;
+    private final Process process;
+    private final String url;
+
+    private LocalApplication(EmbeddedPostgres postgres, Process process, String url) {
+        this.postgres = postgres;
+        this.process = process;
+        this.url = url;
+    }
+
+    static LocalApplication start(Path appJar, Map<String, String> properties) throws Exception {
+        if (!Files.exists(appJar)) {
+            throw new IllegalStateException(appJar + " does not exist, package the application first: ./mvnw package -DskipTests");
+        }
+        Files.createDirectories(WORK_DIRECTORY);
+        Path locations = writeLocations(WORK_DIRECTORY.resolve("locations.csv"));
+        Path log = WORK_DIRECTORY.resolve("application.log");
+
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+        Process process = null;
+        try {
+            int port = freePort();
+            List<String> command = new ArrayList<>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            // the datasource settings of application.properties are prod profile specific, so are their overrides
+            command.add("-D%prod.quarkus.datasource.jdbc.url=" + postgres.getJdbcUrl("postgres", "postgres"));
+            command.add("-D%prod.quarkus.datasource.reactive.url=postgresql://localhost:" + postgres.getPort() + "/postgres");
+            command.add("-D%prod.quarkus.datasource.username=postgres");
+            command.add("-D%prod.quarkus.datasource.password=postgres");
+            command.add("-Dquarkus.http.port=" + port);
+            command.add("-Dwarehouse.locations.file=" + locations.toAbsolutePath());
+            properties.forEach((name, value) -> command.add("-D" + name + "=" + value));
+            command.add("-jar");
+            command.add(appJar.toString());
+
+            process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+            String url = "http://localhost:" + port;
+            awaitReady(url, process, log);
+            System.out.printf("started %s against embedded PostgreSQL on port %d, log in %s%n", url, postgres.getPort(), log);
+            return new LocalApplication(postgres, process, url);
+        } catch (Exception e) {
+            if (process != null) {
+                process.destroyForcibly().waitFor();
+            }
+            postgres.close();
+            throw e;
+        }
+    }
+
+    String url() {
+        return url;
+    }
+
+    @Override
+    public void close() throws Exception {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+        postgres.close();
+    }
+
+    private static Path writeLocations(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("identification,maxNumberOfWarehouses,maxCapacity");
+        LOCATIONS.forEach(location -> lines.add(location + ",1000000,1000000000"));
+        return Files.write(file, lines);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void awaitReady(String url, Process process, Path log) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/product")).timeout(Duration.ofSeconds(5)).GET().build();
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("The application exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("The application did not start within " + START_TIMEOUT + ", see " + log);
+    }
+}
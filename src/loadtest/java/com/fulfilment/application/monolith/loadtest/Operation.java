@@ -0,0 +1,31 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+enum Operation {
+    LIST_WAREHOUSES("list-warehouses"),
+    LIST_STORES("list-stores"),
+    LIST_PRODUCTS("list-products"),
+    CREATE_WAREHOUSE("create-warehouse"),
+    // archives a warehouse created earlier by the same client, and creates one instead while it has none
+    ARCHIVE_WAREHOUSE("archive-warehouse");
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+    static Operation fromName(String label) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.label.equals(label))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation '" + label + "', expected one of "
+                        + Arrays.stream(values()).map(Operation::label).collect(Collectors.joining(", "))));
+    }
+}
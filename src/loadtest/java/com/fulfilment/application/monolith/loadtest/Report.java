@@ -0,0 +1,109 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles of a run, per operation and for all of them together under {@value #ALL}. The
+ * report is stored as JSON, so a later run can be compared with it as a baseline.
+ */
+record Report(String mix, int clients, long durationSeconds, Map<String, OperationReport> operations) {
+
+    static final String ALL = "all";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    record OperationReport(long requests, long errors, double throughput, double p50Ms, double p99Ms, double p999Ms, double maxMs) {
+
+        static OperationReport of(Histogram histogram, long errors, Duration duration) {
+            return new OperationReport(histogram.getTotalCount(), errors, histogram.getTotalCount() / (double) duration.toSeconds(),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    static Report of(LoadTestOptions options, List<LoadTestClient> clients) {
+        Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+        for (LoadTestClient client : clients) {
+            client.latencies().forEach((operation, histogram) ->
+                    latencies.computeIfAbsent(operation, ignored -> new Histogram(LoadTestClient.HIGHEST_LATENCY, 3)).add(histogram));
+            client.errors().forEach((operation, count) -> errors.merge(operation, count, Long::sum));
+        }
+
+        Map<String, OperationReport> operations = new LinkedHashMap<>();
+        Histogram all = new Histogram(LoadTestClient.HIGHEST_LATENCY, 3);
+        latencies.forEach((operation, histogram) -> {
+            operations.put(operation.label(), OperationReport.of(histogram, errors.getOrDefault(operation, 0L), options.duration()));
+            all.add(histogram);
+        });
+        long allErrors = errors.values().stream().mapToLong(Long::longValue).sum();
+        operations.put(ALL, OperationReport.of(all, allErrors, options.duration()));
+        return new Report(options.mix().toString(), options.clients(), options.duration().toSeconds(), operations);
+    }
+
+    static Report read(Path file) throws IOException {
+        return MAPPER.readValue(file.toFile(), Report.class);
+    }
+
+    void write(Path file) throws IOException {
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        MAPPER.writeValue(file.toFile(), this);
+    }
+
+    void print() {
+        System.out.printf("clients=%d duration=%ds mix=%s%n", clients, durationSeconds, mix);
+        System.out.printf("%-18s %10s %8s %12s %10s %10s %10s %10s%n", "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        operations.forEach((name, report) -> System.out.printf("%-18s %10d %8d %12.1f %10.2f %10.2f %10.2f %10.2f%n",
+                name, report.requests(), report.errors(), report.throughput(), report.p50Ms(), report.p99Ms(), report.p999Ms(), report.maxMs()));
+    }
+
+    /**
+     * Prints how every operation compares with the baseline and returns the regressions: a throughput that dropped,
+     * or a p99 that grew, by more than the allowed percentage. Operations missing from either run are skipped.
+     */
+    List<String> compareWith(Report baseline, double maxThroughputDrop, double maxP99Increase) {
+        if (!mix.equals(baseline.mix()) || clients != baseline.clients()) {
+            System.out.printf("warning: the baseline ran clients=%d mix=%s, the numbers may not be comparable%n", baseline.clients(), baseline.mix());
+        }
+        List<String> regressions = new ArrayList<>();
+        operations.forEach((name, current) -> {
+            OperationReport previous = baseline.operations().get(name);
+            if (previous == null) {
+                return;
+            }
+            double throughputChange = change(previous.throughput(), current.throughput());
+            double p99Change = change(previous.p99Ms(), current.p99Ms());
+            System.out.printf("%-18s req/s %10.1f -> %10.1f (%+6.1f%%)   p99 %8.2fms -> %8.2fms (%+6.1f%%)%n",
+                    name, previous.throughput(), current.throughput(), throughputChange, previous.p99Ms(), current.p99Ms(), p99Change);
+            if (-throughputChange > maxThroughputDrop) {
+                regressions.add(String.format("%s throughput dropped by %.1f%%, more than %.1f%%", name, -throughputChange, maxThroughputDrop));
+            }
+            if (p99Change > maxP99Increase) {
+                regressions.add(String.format("%s p99 grew by %.1f%%, more than %.1f%%", name, p99Change, maxP99Increase));
+            }
+        });
+        return regressions;
+    }
+
+    private static double change(double previous, double current) {
+        return previous == 0 ? 0 : (current - previous) / previous * 100;
+    }
+}
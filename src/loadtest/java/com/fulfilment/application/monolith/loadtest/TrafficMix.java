@@ -0,0 +1,51 @@
+package com.fulfilment.application.monolith.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Relative weights of the operations, written as {@code operation:weight,...}, e.g.
+ * {@code list-warehouses:80,create-warehouse:20}. Each request picks its operation at random by weight.
+ */
+record TrafficMix(Map<Operation, Integer> weights) {
+
+    static TrafficMix parse(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight but got: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weights must not be negative: " + entry);
+            }
+            weights.merge(Operation.fromName(parts[0].trim()), weight, Integer::sum);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("The mix has no operation with a positive weight: " + mix);
+        }
+        return new TrafficMix(weights);
+    }
+
+    Operation pick() {
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        int ticket = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+            ticket -= entry.getValue();
+            if (ticket < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    @Override
+    public String toString() {
+        return weights.entrySet().stream()
+                .map(entry -> entry.getKey().label() + ":" + entry.getValue())
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,20 @@
+package com.fulfilment.application.monolith.concurrency;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks methods that hold a JDBC connection while they run. On virtual threads nothing else bounds how many of
+ * them run at once, so calls wait in a fair queue for one of as many permits as the pool has connections. Bind the
+ * method that actually uses the connection: a streamed response reads after its resource method has returned, and a
+ * cached read may not need a connection at all. Permits are not reentrant, so a bound method must not call another.
+ */
+@InterceptorBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DatabaseBound {
+}
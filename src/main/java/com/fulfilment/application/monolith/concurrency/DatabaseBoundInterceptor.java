@@ -0,0 +1,34 @@
+package com.fulfilment.application.monolith.concurrency;
+
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.ws.rs.WebApplicationException;
+import org.jboss.logging.Logger;
+
+@DatabaseBound
+@Interceptor
+// outermost, so the permit is held until the transaction has committed and the connection is back in the pool
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 50)
+public class DatabaseBoundInterceptor {
+
+    private static final Logger LOG = Logger.getLogger(DatabaseBoundInterceptor.class);
+
+    @Inject
+    DatabasePermits databasePermits;
+
+    @AroundInvoke
+    Object limit(InvocationContext context) throws Exception {
+        if (!databasePermits.tryAcquire()) {
+            LOG.warnf("No database permit became available within %s for %s", databasePermits.getAcquisitionTimeout(), context.getMethod().getName());
+            throw new WebApplicationException("Too many concurrent requests, please retry later.", 503);
+        }
+        try {
+            return context.proceed();
+        } finally {
+            databasePermits.release();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.fulfilment.application.monolith.concurrency;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@ApplicationScoped
+public class DatabasePermits {
+
+    private final Semaphore permits;
+    private final Duration acquisitionTimeout;
+
+    public DatabasePermits(@ConfigProperty(name = "warehouse.concurrency.max-database-calls") int maxDatabaseCalls,
+                           @ConfigProperty(name = "warehouse.concurrency.acquisition-timeout") Duration acquisitionTimeout) {
+        // fair: waiting requests are served in arrival order instead of racing for the next free connection
+        this.permits = new Semaphore(maxDatabaseCalls, true);
+        this.acquisitionTimeout = acquisitionTimeout;
+    }
+
+    public boolean tryAcquire() throws InterruptedException {
+        return permits.tryAcquire(acquisitionTimeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public Duration getAcquisitionTimeout() {
+        return acquisitionTimeout;
+    }
+}
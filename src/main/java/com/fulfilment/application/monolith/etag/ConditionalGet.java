@@ -0,0 +1,16 @@
+package com.fulfilment.application.monolith.etag;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Tags the successful GET responses of a resource with the ETag of the table they read, and answers a matching
+ * {@code If-None-Match} with 304 Not Modified before the resource method, and with it the database, is reached.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConditionalGet {
+    VersionRegistry.Table value();
+}
@@ -0,0 +1,71 @@
+package com.fulfilment.application.monolith.etag;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+
+@Provider
+public class ConditionalGetFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String ETAG_PROPERTY = ConditionalGetFilter.class.getName() + ".etag";
+
+    @Inject
+    VersionRegistry versionRegistry;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        if (!HttpMethod.GET.equals(request.getMethod()) || resourceInfo.getResourceClass() == null) {
+            return;
+        }
+        ConditionalGet conditionalGet = resourceInfo.getResourceClass().getAnnotation(ConditionalGet.class);
+        if (conditionalGet == null) {
+            return;
+        }
+
+        // read before the resource queries anything, so the tag is never newer than the data it is sent with
+        String etag = versionRegistry.etag(conditionalGet.value());
+        if (matches(request.getHeaderString(HttpHeaders.IF_NONE_MATCH), etag)) {
+            request.abortWith(Response.notModified().header(HttpHeaders.ETAG, etag).build());
+            return;
+        }
+        request.setProperty(ETAG_PROPERTY, etag);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        Object etag = request.getProperty(ETAG_PROPERTY);
+        if (etag != null && response.getStatus() == Response.Status.OK.getStatusCode()) {
+            response.getHeaders().putSingle(HttpHeaders.ETAG, etag);
+            // clients and proxies may keep the response but have to revalidate it on every use
+            response.getHeaders().putSingle(HttpHeaders.CACHE_CONTROL, "no-cache");
+        }
+    }
+
+    // If-None-Match uses the weak comparison, a W/ prefix is ignored
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,85 @@
+package com.fulfilment.application.monolith.etag;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process change counter per table, the basis of the ETags of the read endpoints. Every write bumps the counter
+ * of its table once it has committed, so a tag read before a query is never newer than the data the query returns.
+ * The counters start over on restart; the random epoch in every tag keeps tags of an earlier run from matching.
+ * Only writes made through this instance are seen, so it assumes a single instance owns the tables. Caches of a
+ * table subscribe with {@link #onChange} and are cleared just before the counter moves, so no tag is ever handed
+ * out together with data cached before the change.
+ */
+@ApplicationScoped
+public class VersionRegistry {
+
+    public enum Table {
+        WAREHOUSE,
+        STORE,
+        PRODUCT
+    }
+
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<Table, AtomicLong> versions = new EnumMap<>(Table.class);
+    private final Map<Table, List<Runnable>> listeners = new EnumMap<>(Table.class);
+
+    @Inject
+    TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    public VersionRegistry() {
+        for (Table table : Table.values()) {
+            versions.put(table, new AtomicLong());
+            listeners.put(table, new CopyOnWriteArrayList<>());
+        }
+    }
+
+    // the listener runs on the committing thread, right before every bump of the table
+    public void onChange(Table table, Runnable listener) {
+        listeners.get(table).add(listener);
+    }
+
+    // moves with every committed write of the table, e.g. to key cached data by the state it was loaded from
+    public long version(Table table) {
+        return versions.get(table).get();
+    }
+
+    // strong entity tag of the current state of the table
+    public String etag(Table table) {
+        return "\"" + epoch + "-" + versions.get(table).get() + "\"";
+    }
+
+    // inside a transaction the bump waits for the commit, outside one (the reactive adapter) the write is already done
+    public void bump(Table table) {
+        if (transactionSynchronizationRegistry.getTransactionStatus() == Status.STATUS_NO_TRANSACTION) {
+            increment(table);
+            return;
+        }
+        transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {}
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    increment(table);
+                }
+            }
+        });
+    }
+
+    private void increment(Table table) {
+        listeners.get(table).forEach(Runnable::run);
+        versions.get(table).incrementAndGet();
+    }
+}
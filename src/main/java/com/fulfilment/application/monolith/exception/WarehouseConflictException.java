@@ -0,0 +1,7 @@
+package com.fulfilment.application.monolith.exception;
+
+public class WarehouseConflictException extends RuntimeException {
+    public WarehouseConflictException(String exceptionMessage) {
+        super(exceptionMessage);
+    }
+}
@@ -0,0 +1,111 @@
+package com.fulfilment.application.monolith.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams an import file into an {@link ImportTarget}. Rows are bound and collected into chunks of
+ * {@code import.chunk-size}, each chunk is written and committed on its own, so neither the file nor the
+ * persistence context ever holds more than one chunk. A chunk that fails as a whole rejects all its rows and the
+ * import carries on with the next one.
+ */
+@ApplicationScoped
+public class BulkImporter {
+
+    private static final Logger LOG = Logger.getLogger(BulkImporter.class);
+
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+
+    public BulkImporter(ObjectMapper objectMapper,
+                        @ConfigProperty(name = "import.chunk-size") int chunkSize,
+                        @ConfigProperty(name = "import.max-reported-errors") int maxReportedErrors) {
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public <T> ImportReport importRows(InputStream in, ImportFormat format, ImportTarget<T> target) throws IOException {
+        Progress progress = new Progress();
+        List<T> chunk = new ArrayList<>(chunkSize);
+        List<Long> lines = new ArrayList<>(chunkSize);
+
+        try (ImportRowReader reader = new ImportRowReader(in, format, objectMapper)) {
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                progress.rows++;
+                if (row.error() != null) {
+                    progress.reject(row.line(), row.error());
+                    continue;
+                }
+                try {
+                    chunk.add(objectMapper.treeToValue(row.fields(), target.rowType()));
+                    lines.add(row.line());
+                } catch (JsonProcessingException e) {
+                    progress.reject(row.line(), "Invalid row: " + e.getOriginalMessage());
+                    continue;
+                }
+                if (chunk.size() == chunkSize) {
+                    writeChunk(target, chunk, lines, progress);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(target, chunk, lines, progress);
+        }
+
+        LOG.infof("Imported %d of %d rows, %d rejected", progress.imported, progress.rows, progress.rejected);
+        return new ImportReport(progress.rows, progress.imported, progress.rejected, progress.errors);
+    }
+
+    private <T> void writeChunk(ImportTarget<T> target, List<T> chunk, List<Long> lines, Progress progress) {
+        Map<Integer, String> rejections;
+        try {
+            rejections = target.write(chunk);
+        } catch (RuntimeException e) {
+            LOG.errorf(e, "Failed to import the chunk of lines %d to %d", lines.get(0), lines.get(lines.size() - 1));
+            String error = "Chunk was not imported: " + e.getMessage();
+            for (Long line : lines) {
+                progress.reject(line, error);
+            }
+            chunk.clear();
+            lines.clear();
+            return;
+        }
+
+        progress.imported += chunk.size() - rejections.size();
+        for (int index = 0; index < chunk.size(); index++) {
+            String error = rejections.get(index);
+            if (error != null) {
+                progress.reject(lines.get(index), error);
+            }
+        }
+        chunk.clear();
+        lines.clear();
+    }
+
+    private final class Progress {
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long rejected;
+
+        // only the first errors are kept, a file full of bad rows must not fill the heap with their messages
+        private void reject(long line, String error) {
+            rejected++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportReport.RowError(line, error));
+            }
+        }
+    }
+}
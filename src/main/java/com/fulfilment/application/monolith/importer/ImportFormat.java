@@ -0,0 +1,16 @@
+package com.fulfilment.application.monolith.importer;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON;
+
+    static final String CSV_TYPE = "text/csv";
+    static final String NDJSON_TYPE = "application/x-ndjson";
+
+    static ImportFormat fromContentType(String contentType) {
+        if (contentType != null && contentType.toLowerCase().startsWith(CSV_TYPE)) {
+            return CSV;
+        }
+        return NDJSON;
+    }
+}
@@ -0,0 +1,10 @@
+package com.fulfilment.application.monolith.importer;
+
+import java.util.List;
+
+// outcome of an import; errors holds at most import.max-reported-errors entries, rejected counts all of them
+public record ImportReport(long rows, long imported, long rejected, List<RowError> errors) {
+
+    public record RowError(long line, String error) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.fulfilment.application.monolith.importer;
+
+import com.fulfilment.application.monolith.concurrency.DatabaseBound;
+import com.fulfilment.application.monolith.metrics.SqlBudget;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.HttpHeaders;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Bulk loads of master data. The request body is read as a stream while it is imported, so the size of the file
+ * only bounds how long the request takes. Rows are reported back by line number when they were rejected.
+ */
+@Path("import")
+@Produces("application/json")
+@Consumes({ImportFormat.CSV_TYPE, ImportFormat.NDJSON_TYPE})
+@RunOnVirtualThread
+@DatabaseBound
+// every chunk checks for duplicates and flushes its inserts in JDBC batches, so statements grow with the file
+@SqlBudget(statements = Integer.MAX_VALUE, repeatedStatements = Integer.MAX_VALUE)
+public class ImportResource {
+
+    private static final Logger LOG = Logger.getLogger(ImportResource.class);
+
+    private final BulkImporter bulkImporter;
+    private final WarehouseImportTarget warehouseImportTarget;
+    private final StoreImportTarget storeImportTarget;
+    private final ProductImportTarget productImportTarget;
+
+    public ImportResource(BulkImporter bulkImporter,
+                          WarehouseImportTarget warehouseImportTarget,
+                          StoreImportTarget storeImportTarget,
+                          ProductImportTarget productImportTarget) {
+        this.bulkImporter = bulkImporter;
+        this.warehouseImportTarget = warehouseImportTarget;
+        this.storeImportTarget = storeImportTarget;
+        this.productImportTarget = productImportTarget;
+    }
+
+    @POST
+    @Path("warehouses")
+    public ImportReport importWarehouses(@HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        LOG.info("Importing warehouses");
+        return bulkImporter.importRows(body, ImportFormat.fromContentType(contentType), warehouseImportTarget);
+    }
+
+    @POST
+    @Path("stores")
+    public ImportReport importStores(@HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        LOG.info("Importing stores");
+        return bulkImporter.importRows(body, ImportFormat.fromContentType(contentType), storeImportTarget);
+    }
+
+    @POST
+    @Path("products")
+    public ImportReport importProducts(@HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        LOG.info("Importing products");
+        return bulkImporter.importRows(body, ImportFormat.fromContentType(contentType), productImportTarget);
+    }
+}
@@ -0,0 +1,7 @@
+package com.fulfilment.application.monolith.importer;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+// one non-blank line of an import file; error is set instead of fields when the line could not be parsed
+record ImportRow(long line, ObjectNode fields, String error) {
+}
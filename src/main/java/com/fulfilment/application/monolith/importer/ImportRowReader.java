@@ -0,0 +1,123 @@
+package com.fulfilment.application.monolith.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads an import file one line at a time, so memory use does not depend on the size of the file. A CSV file starts
+ * with a header naming the field of each column, values may be quoted but not span lines. An NDJSON file holds one
+ * JSON object per line. A line that cannot be parsed becomes a row with an error, the following lines are still read.
+ */
+final class ImportRowReader implements Closeable {
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private long lineNumber;
+
+    ImportRowReader(InputStream in, ImportFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    // the next row, or null once the file is exhausted
+    ImportRow next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == ImportFormat.NDJSON) {
+                return parseJson(line);
+            }
+            if (header == null) {
+                header = splitCsv(line).stream().map(String::trim).toList();
+                continue;
+            }
+            return parseCsv(line);
+        }
+        return null;
+    }
+
+    private ImportRow parseJson(String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            if (!node.isObject()) {
+                return new ImportRow(lineNumber, null, "Expected a JSON object");
+            }
+            return new ImportRow(lineNumber, (ObjectNode) node, null);
+        } catch (JsonProcessingException e) {
+            return new ImportRow(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private ImportRow parseCsv(String line) {
+        List<String> values;
+        try {
+            values = splitCsv(line);
+        } catch (IllegalArgumentException e) {
+            return new ImportRow(lineNumber, null, e.getMessage());
+        }
+        if (values.size() != header.size()) {
+            return new ImportRow(lineNumber, null, "Expected " + header.size() + " columns but got " + values.size());
+        }
+        ObjectNode fields = objectMapper.createObjectNode();
+        for (int column = 0; column < values.size(); column++) {
+            // an empty value leaves the field unset rather than setting it to an empty string
+            if (!values.get(column).isEmpty()) {
+                fields.put(header.get(column), values.get(column));
+            }
+        }
+        return new ImportRow(lineNumber, fields, null);
+    }
+
+    static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int index = 0; index < line.length(); index++) {
+            char c = line.charAt(index);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (index + 1 < line.length() && line.charAt(index + 1) == '"') {
+                    value.append('"');
+                    index++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted value");
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
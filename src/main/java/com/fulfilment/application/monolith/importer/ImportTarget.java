@@ -0,0 +1,14 @@
+package com.fulfilment.application.monolith.importer;
+
+import java.util.List;
+import java.util.Map;
+
+public interface ImportTarget<T> {
+
+    // what each row of the file is bound to before it is written
+    Class<T> rowType();
+
+    // writes one chunk of rows in a single transaction and returns the rejection reason of every row that was not
+    // written, keyed by its index in the chunk
+    Map<Integer, String> write(List<T> rows);
+}
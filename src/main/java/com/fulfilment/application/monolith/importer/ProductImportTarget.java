@@ -0,0 +1,78 @@
+package com.fulfilment.application.monolith.importer;
+
+import com.fulfilment.application.monolith.etag.VersionRegistry;
+import com.fulfilment.application.monolith.products.Product;
+import com.fulfilment.application.monolith.products.ProductRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+@ApplicationScoped
+public class ProductImportTarget implements ImportTarget<Product> {
+
+    private static final int MAX_NAME_LENGTH = 40;
+
+    private final ProductRepository productRepository;
+    private final VersionRegistry versionRegistry;
+    private final int batchSize;
+
+    public ProductImportTarget(ProductRepository productRepository,
+                               VersionRegistry versionRegistry,
+                               @ConfigProperty(name = "quarkus.hibernate-orm.jdbc.statement-batch-size", defaultValue = "50") int batchSize) {
+        this.productRepository = productRepository;
+        this.versionRegistry = versionRegistry;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Class<Product> rowType() {
+        return Product.class;
+    }
+
+    @Override
+    @Transactional
+    public Map<Integer, String> write(List<Product> rows) {
+        versionRegistry.bump(VersionRegistry.Table.PRODUCT);
+        // names taken before this chunk, the rows of the chunk are added as they are written
+        List<String> candidates = rows.stream().map(product -> product.name).filter(Objects::nonNull).toList();
+        Set<String> names = candidates.isEmpty() ? new HashSet<>() : new HashSet<>(productRepository.getEntityManager()
+                .createQuery("select p.name from Product p where p.name in :names", String.class)
+                .setParameter("names", candidates)
+                .getResultList());
+
+        Map<Integer, String> rejections = new HashMap<>();
+        int written = 0;
+        for (int index = 0; index < rows.size(); index++) {
+            Product product = rows.get(index);
+            if (product.id != null) {
+                rejections.put(index, "Id was invalidly set on request.");
+            } else if (product.name == null || product.name.isBlank()) {
+                rejections.put(index, "Product Name was not set on request.");
+            } else if (product.name.length() > MAX_NAME_LENGTH) {
+                rejections.put(index, "Product name must not be longer than " + MAX_NAME_LENGTH + " characters");
+            } else if (product.stock < 0) {
+                rejections.put(index, "Product stock must not be negative");
+            } else if (product.price != null && product.price.compareTo(BigDecimal.ZERO) < 0) {
+                rejections.put(index, "Product price must not be negative");
+            } else if (!names.add(product.name)) {
+                rejections.put(index, "Product with name '" + product.name + "' already exists");
+            } else {
+                productRepository.persist(product);
+                // flush a full JDBC batch at a time and drop it from the persistence context
+                if (++written % batchSize == 0) {
+                    productRepository.flush();
+                    productRepository.getEntityManager().clear();
+                }
+            }
+        }
+        return rejections;
+    }
+}
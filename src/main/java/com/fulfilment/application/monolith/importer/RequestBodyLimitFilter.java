@@ -0,0 +1,78 @@
+package com.fulfilment.application.monolith.importer;
+
+import io.quarkus.runtime.configuration.MemorySize;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * quarkus.http.limits.max-body-size is raised for the streamed import files only; every other request body is held
+ * to {@code http.max-body-size}. A declared Content-Length is checked before the body is read, a chunked body is
+ * counted while it is read.
+ */
+@Provider
+@PreMatching
+public class RequestBodyLimitFilter implements ContainerRequestFilter {
+
+    private static final String IMPORT_PATH = "import/";
+
+    @ConfigProperty(name = "http.max-body-size")
+    MemorySize maxBodySize;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        String path = request.getUriInfo().getPath();
+        if (path.startsWith(IMPORT_PATH) || path.startsWith("/" + IMPORT_PATH) || !request.hasEntity()) {
+            return;
+        }
+        int length = request.getLength();
+        if (length > maxBodySize.asLongValue()) {
+            request.abortWith(Response.status(Response.Status.REQUEST_ENTITY_TOO_LARGE).build());
+        } else if (length < 0) {
+            request.setEntityStream(new LimitedInputStream(request.getEntityStream(), maxBodySize.asLongValue()));
+        }
+    }
+
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count(read);
+            }
+            return read;
+        }
+
+        private void count(int bytes) {
+            remaining -= bytes;
+            if (remaining < 0) {
+                throw new WebApplicationException(Response.Status.REQUEST_ENTITY_TOO_LARGE);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.fulfilment.application.monolith.importer;
+
+import com.fulfilment.application.monolith.etag.VersionRegistry;
+import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.stores.event.StoreCreateEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+// imported stores are queued for the legacy system like the ones created through the API
+@ApplicationScoped
+public class StoreImportTarget implements ImportTarget<Store> {
+
+    private static final int MAX_NAME_LENGTH = 40;
+
+    private final Event<StoreCreateEvent> storeCreateEvent;
+    private final VersionRegistry versionRegistry;
+    private final int batchSize;
+
+    public StoreImportTarget(Event<StoreCreateEvent> storeCreateEvent,
+                             VersionRegistry versionRegistry,
+                             @ConfigProperty(name = "quarkus.hibernate-orm.jdbc.statement-batch-size", defaultValue = "50") int batchSize) {
+        this.storeCreateEvent = storeCreateEvent;
+        this.versionRegistry = versionRegistry;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public Class<Store> rowType() {
+        return Store.class;
+    }
+
+    @Override
+    @Transactional
+    public Map<Integer, String> write(List<Store> rows) {
+        versionRegistry.bump(VersionRegistry.Table.STORE);
+        // names taken before this chunk, the rows of the chunk are added as they are written
+        List<String> candidates = rows.stream().map(store -> store.name).filter(Objects::nonNull).toList();
+        Set<String> names = candidates.isEmpty() ? new HashSet<>() : new HashSet<>(Store.getEntityManager()
+                .createQuery("select s.name from Store s where s.name in :names", String.class)
+                .setParameter("names", candidates)
+                .getResultList());
+
+        Map<Integer, String> rejections = new HashMap<>();
+        int written = 0;
+        for (int index = 0; index < rows.size(); index++) {
+            Store store = rows.get(index);
+            if (store.id != null) {
+                rejections.put(index, "Id was invalidly set on request.");
+            } else if (store.name == null || store.name.isBlank()) {
+                rejections.put(index, "Store Name was not set on request.");
+            } else if (store.name.length() > MAX_NAME_LENGTH) {
+                rejections.put(index, "Store name must not be longer than " + MAX_NAME_LENGTH + " characters");
+            } else if (!names.add(store.name)) {
+                rejections.put(index, "Store with name '" + store.name + "' already exists");
+            } else {
+                store.persist();
+                storeCreateEvent.fire(new StoreCreateEvent(store));
+                // flush a full JDBC batch at a time and drop it from the persistence context
+                if (++written % batchSize == 0) {
+                    Store.flush();
+                    Store.getEntityManager().clear();
+                }
+            }
+        }
+        return rejections;
+    }
+}
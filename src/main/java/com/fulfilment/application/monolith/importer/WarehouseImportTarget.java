@@ -0,0 +1,38 @@
+package com.fulfilment.application.monolith.importer;
+
+import com.fulfilment.application.monolith.mapper.WarehouseMapper;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseCreationResult;
+import com.fulfilment.application.monolith.warehouses.domain.ports.BatchCreateWarehouseOperation;
+import com.warehouse.api.beans.Warehouse;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// a chunk goes through the same validation and batched insert as POST /warehouse/batch
+@ApplicationScoped
+public class WarehouseImportTarget implements ImportTarget<Warehouse> {
+
+    private final BatchCreateWarehouseOperation batchCreateWarehouseOperation;
+
+    public WarehouseImportTarget(BatchCreateWarehouseOperation batchCreateWarehouseOperation) {
+        this.batchCreateWarehouseOperation = batchCreateWarehouseOperation;
+    }
+
+    @Override
+    public Class<Warehouse> rowType() {
+        return Warehouse.class;
+    }
+
+    @Override
+    public Map<Integer, String> write(List<Warehouse> rows) {
+        Map<Integer, String> rejections = new HashMap<>();
+        for (WarehouseCreationResult result : batchCreateWarehouseOperation.createAll(rows.stream().map(WarehouseMapper::mapToWarehouse).toList())) {
+            if (!result.isCreated()) {
+                rejections.put(result.index(), result.error());
+            }
+        }
+        return rejections;
+    }
+}
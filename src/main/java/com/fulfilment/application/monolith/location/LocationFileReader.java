@@ -0,0 +1,82 @@
+package com.fulfilment.application.monolith.location;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads locations either from a CSV file with an {@code identification,maxNumberOfWarehouses,maxCapacity}
+ * header or from a JSON array of objects with the same fields.
+ */
+final class LocationFileReader {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private LocationFileReader() {}
+
+    static List<Location> read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in, file.getFileName().toString().toLowerCase().endsWith(".json"));
+        }
+    }
+
+    static List<Location> readClasspath(String resource) {
+        try (InputStream in = LocationFileReader.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing location resource: " + resource);
+            }
+            return read(in, resource.endsWith(".json"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<Location> read(InputStream in, boolean json) throws IOException {
+        return json ? readJson(in) : readCsv(in);
+    }
+
+    private static List<Location> readCsv(InputStream in) throws IOException {
+        List<Location> locations = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 || line.isBlank()) {
+                continue;
+            }
+            String[] columns = line.split(",");
+            if (columns.length != 3) {
+                throw new IllegalArgumentException("Expected 3 columns on line " + lineNumber + " but got " + columns.length);
+            }
+            locations.add(new Location(columns[0].trim(), Integer.parseInt(columns[1].trim()), Integer.parseInt(columns[2].trim())));
+        }
+        return locations;
+    }
+
+    private static List<Location> readJson(InputStream in) throws IOException {
+        JsonNode root = OBJECT_MAPPER.readTree(in);
+        if (root == null || !root.isArray()) {
+            throw new IllegalArgumentException("Expected a JSON array of locations");
+        }
+        List<Location> locations = new ArrayList<>(root.size());
+        for (JsonNode node : root) {
+            locations.add(new Location(
+                    node.required("identification").asText(),
+                    node.required("maxNumberOfWarehouses").asInt(),
+                    node.required("maxCapacity").asInt()));
+        }
+        return locations;
+    }
+}
@@ -3,32 +3,86 @@ package com.fulfilment.application.monolith.location;
 import com.fulfilment.application.monolith.exception.InvalidLocationException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 
 @ApplicationScoped
 public class LocationGateway implements LocationResolver {
 
-    private static final List<Location> locations = new ArrayList<>();
-
-    static {
-        locations.add(new Location("ZWOLLE-001", 1, 40));
-        locations.add(new Location("ZWOLLE-002", 2, 50));
-        locations.add(new Location("AMSTERDAM-001", 5, 100));
-        locations.add(new Location("AMSTERDAM-002", 3, 75));
-        locations.add(new Location("TILBURG-001", 1, 40));
-        locations.add(new Location("HELMOND-001", 1, 45));
-        locations.add(new Location("EINDHOVEN-001", 2, 70));
-        locations.add(new Location("VETSBY-001", 1, 90));
+    private static final Logger LOG = Logger.getLogger(LocationGateway.class);
+
+    private static final String DEFAULT_LOCATIONS = "locations.csv";
+
+    @ConfigProperty(name = "warehouse.locations.file")
+    Optional<String> locationsFile;
+
+    // immutable index swapped as a whole on reload, so lookups never see a half-loaded file
+    private volatile Map<String, Location> locationsByIdentifier;
+
+    private FileTime loadedModificationTime;
+
+    public LocationGateway() {
+        this.locationsByIdentifier = index(LocationFileReader.readClasspath(DEFAULT_LOCATIONS));
+    }
+
+    void onStart(@Observes StartupEvent startupEvent) {
+        reloadIfChanged();
     }
 
     @Override
     public Location resolveByIdentifier(String identifier) {
-        return locations.stream().filter(location ->
-                location.identification.equalsIgnoreCase(identifier))
-                .findFirst()
-                .orElseThrow(() -> new InvalidLocationException("Unknown location identifier: " + identifier));
+        Location location = identifier == null ? null : locationsByIdentifier.get(normalize(identifier));
+        if (location == null) {
+            throw new InvalidLocationException("Unknown location identifier: " + identifier);
+        }
+        return location;
+    }
+
+    @Scheduled(every = "${warehouse.locations.reload-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    synchronized void reloadIfChanged() {
+        if (locationsFile == null || locationsFile.isEmpty()) {
+            return;
+        }
+
+        Path file = Path.of(locationsFile.get());
+        try {
+            FileTime modificationTime = Files.getLastModifiedTime(file);
+            if (modificationTime.equals(loadedModificationTime)) {
+                return;
+            }
+            locationsByIdentifier = index(LocationFileReader.read(file));
+            loadedModificationTime = modificationTime;
+            LOG.infof("Loaded %d locations from %s", locationsByIdentifier.size(), file);
+        } catch (IOException | RuntimeException e) {
+            LOG.errorf(e, "Failed to load locations from %s, keeping the %d locations currently known", file, locationsByIdentifier.size());
+        }
+    }
+
+    private static Map<String, Location> index(List<Location> locations) {
+        Map<String, Location> index = new HashMap<>(locations.size() * 2);
+        for (Location location : locations) {
+            if (index.put(normalize(location.identification), location) != null) {
+                throw new IllegalArgumentException("Duplicate location identifier: " + location.identification);
+            }
+        }
+        return Map.copyOf(index);
+    }
+
+    private static String normalize(String identifier) {
+        return identifier.trim().toUpperCase(Locale.ROOT);
     }
 }
@@ -1,16 +1,28 @@
 package com.fulfilment.application.monolith.mapper;
 
+import com.fulfilment.application.monolith.exception.WarehouseValidationException;
 import com.fulfilment.application.monolith.warehouses.adapters.database.DbWarehouse;
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseRow;
+import com.fulfilment.application.monolith.warehouses.domain.models.StockMovement;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseCreationResult;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseSearchCriteria;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseSearchPage;
+import com.warehouse.api.beans.WarehouseBatchResult;
+import com.warehouse.api.beans.WarehouseSearchResult;
+import com.warehouse.api.beans.WarehouseStockMovement;
+import io.vertx.mutiny.sqlclient.Row;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.Locale;
 
 public class WarehouseMapper {
 
     public static Warehouse mapToWarehouse(DbWarehouse dbWarehouse) {
         Warehouse warehouse = new Warehouse();
+        warehouse.setWareHouseId(dbWarehouse.getId());
         warehouse.setBusinessUnitCode(dbWarehouse.getBusinessUnitCode());
         warehouse.setLocation(dbWarehouse.getLocation());
         warehouse.setCapacity(dbWarehouse.getCapacity());
@@ -21,12 +33,56 @@ public class WarehouseMapper {
 
         if (dbWarehouse.getArchivedAt() != null) {
             warehouse.setArchivedAt(dbWarehouse.getArchivedAt().atZone(ZoneId.systemDefault()));
-        } return warehouse;
+        }
+        warehouse.setVersion(dbWarehouse.getVersion());
+        return warehouse;
+    }
+
+    public static Warehouse mapToWarehouse(WarehouseRow row) {
+        Warehouse warehouse = new Warehouse();
+        warehouse.setWareHouseId(row.id());
+        warehouse.setBusinessUnitCode(row.businessUnitCode());
+        warehouse.setLocation(row.location());
+        warehouse.setCapacity(row.capacity());
+        warehouse.setStock(row.stock());
+        if (row.createdAt() != null) {
+            warehouse.setCreationAt(row.createdAt().atZone(ZoneId.systemDefault()));
+        }
+
+        if (row.archivedAt() != null) {
+            warehouse.setArchivedAt(row.archivedAt().atZone(ZoneId.systemDefault()));
+        }
+        warehouse.setVersion(row.version());
+        return warehouse;
+    }
+
+    // PostgreSQL folds the unquoted column names to lower case
+    public static Warehouse mapToWarehouse(Row row) {
+        Warehouse warehouse = new Warehouse();
+        warehouse.setWareHouseId(row.getLong("id"));
+        warehouse.setBusinessUnitCode(row.getString("businessunitcode"));
+        warehouse.setLocation(row.getString("location"));
+        warehouse.setCapacity(row.getInteger("capacity"));
+        warehouse.setStock(row.getInteger("stock"));
+        LocalDateTime createdAt = row.getLocalDateTime("createdat");
+        if (createdAt != null) {
+            warehouse.setCreationAt(createdAt.atZone(ZoneId.systemDefault()));
+        }
+
+        LocalDateTime archivedAt = row.getLocalDateTime("archivedat");
+        if (archivedAt != null) {
+            warehouse.setArchivedAt(archivedAt.atZone(ZoneId.systemDefault()));
+        }
+        warehouse.setVersion(row.getLong("version"));
+        return warehouse;
     }
 
     public static com.warehouse.api.beans.Warehouse mapToWarehouseBean(Warehouse warehouse) {
         com.warehouse.api.beans.Warehouse warehouseBean = new com.warehouse.api.beans.Warehouse();
-        warehouseBean.setId(warehouse.getWareHouseId().toString());
+        if (warehouse.getWareHouseId() != null) {
+            warehouseBean.setId(warehouse.getWareHouseId().toString());
+        }
+        warehouseBean.setBusinessUnitCode(warehouse.getBusinessUnitCode());
         warehouseBean.setLocation(warehouse.getLocation());
         warehouseBean.setCapacity(warehouse.getCapacity());
         warehouseBean.setStock(warehouse.getStock());
@@ -35,6 +91,7 @@ public class WarehouseMapper {
 
     public static Warehouse mapToWarehouse(com.warehouse.api.beans.Warehouse warehouseBean) {
         Warehouse warehouse = new Warehouse();
+        warehouse.setBusinessUnitCode(warehouseBean.getBusinessUnitCode());
         warehouse.setLocation(warehouseBean.getLocation());
         warehouse.setCapacity(warehouseBean.getCapacity());
         warehouse.setStock(warehouseBean.getStock());
@@ -42,6 +99,65 @@ public class WarehouseMapper {
         return warehouse;
     }
 
+    public static WarehouseBatchResult mapToWarehouseBatchResultBean(WarehouseCreationResult result) {
+        WarehouseBatchResult resultBean = new WarehouseBatchResult();
+        resultBean.setIndex(result.index());
+        resultBean.setCreated(result.isCreated());
+        resultBean.setWarehouse(mapToWarehouseBean(result.warehouse()));
+        resultBean.setError(result.error());
+        return resultBean;
+    }
+
+    public static StockMovement mapToStockMovement(WarehouseStockMovement movementBean) {
+        Long warehouseId;
+        try {
+            warehouseId = movementBean.getWarehouseId() == null ? null : Long.valueOf(movementBean.getWarehouseId());
+        } catch (NumberFormatException e) {
+            throw new WarehouseValidationException("Invalid warehouseId: " + movementBean.getWarehouseId());
+        }
+        return new StockMovement(warehouseId, movementBean.getDelta() == null ? 0 : movementBean.getDelta());
+    }
+
+    public static WarehouseSearchCriteria.Status mapToSearchStatus(String status) {
+        return parseOption(status, WarehouseSearchCriteria.Status.ACTIVE, WarehouseSearchCriteria.Status.class, "status");
+    }
+
+    // the API spells the sort fields in camel case: freeCapacity is FREE_CAPACITY
+    public static WarehouseSearchCriteria.SortField mapToSearchSortField(String sort) {
+        return parseOption(sort == null ? null : sort.replaceAll("([a-z])([A-Z])", "$1_$2"),
+                WarehouseSearchCriteria.SortField.ID, WarehouseSearchCriteria.SortField.class, "sort");
+    }
+
+    public static boolean isDescending(String direction) {
+        if (direction == null || direction.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        if (direction.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        throw new WarehouseValidationException("Invalid direction: " + direction);
+    }
+
+    private static <E extends Enum<E>> E parseOption(String value, E defaultValue, Class<E> type, String name) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new WarehouseValidationException("Invalid " + name + ": " + value);
+        }
+    }
+
+    public static WarehouseSearchResult mapToWarehouseSearchResultBean(WarehouseSearchPage page) {
+        WarehouseSearchResult resultBean = new WarehouseSearchResult();
+        resultBean.setWarehouses(page.warehouses().stream().map(WarehouseMapper::mapToWarehouseBean).toList());
+        if (page.next() != null) {
+            resultBean.setNext(page.next().encode());
+        }
+        return resultBean;
+    }
+
     public static DbWarehouse mapToDBWarehouse(Warehouse warehouse) {
         DbWarehouse dbWarehouse = new DbWarehouse();
         dbWarehouse.setBusinessUnitCode(warehouse.getBusinessUnitCode());
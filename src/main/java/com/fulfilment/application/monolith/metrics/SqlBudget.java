@@ -0,0 +1,19 @@
+package com.fulfilment.application.monolith.metrics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the configured SQL budget for a resource class or method whose requests are expected to issue many
+ * statements, such as bulk writes that flush in batches.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+
+    int statements();
+
+    int repeatedStatements();
+}
@@ -0,0 +1,62 @@
+package com.fulfilment.application.monolith.metrics;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.ArcContainer;
+import jakarta.enterprise.context.RequestScoped;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * The SQL issued while serving the current request: how many statements were prepared, how often each distinct one
+ * was, and how long their execution took. Filled in by {@link SqlStatementInspector} and {@link SqlTimingListener},
+ * reported by {@link SqlStatisticsFilter}.
+ */
+@RequestScoped
+public class SqlStatistics {
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong executionNanos = new AtomicLong();
+    private final Map<String, Integer> countsBySql = new ConcurrentHashMap<>();
+
+    // null outside a request, e.g. in scheduled jobs; Hibernate creates the listeners, so there is nothing to inject
+    static SqlStatistics current() {
+        ArcContainer container = Arc.container();
+        if (container == null || !container.requestContext().isActive()) {
+            return null;
+        }
+        return container.instance(SqlStatistics.class).get();
+    }
+
+    void recordStatement(String sql) {
+        statements.incrementAndGet();
+        countsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    void recordExecution(long nanos) {
+        executionNanos.addAndGet(nanos);
+    }
+
+    public int statementCount() {
+        return statements.get();
+    }
+
+    public Duration executionTime() {
+        return Duration.ofNanos(executionNanos.get());
+    }
+
+    public Map<String, Integer> statementCounts() {
+        return Map.copyOf(countsBySql);
+    }
+
+    // the same statement prepared over and over is the usual sign of a lookup per row, an N+1 query
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        return countsBySql.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+}
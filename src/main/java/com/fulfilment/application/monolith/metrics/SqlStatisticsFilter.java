@@ -0,0 +1,65 @@
+package com.fulfilment.application.monolith.metrics;
+
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.container.ResourceInfo;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.Locale;
+
+/**
+ * Reports the SQL of every request in a Server-Timing header, which the access log prints, and warns about requests
+ * that went over the statement budget or prepared the same statement suspiciously often. Bodies written while
+ * streaming, such as the export, are not included.
+ */
+@Provider
+public class SqlStatisticsFilter implements ContainerResponseFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private static final Logger LOG = Logger.getLogger(SqlStatisticsFilter.class);
+
+    @ConfigProperty(name = "sql.statement-budget")
+    int statementBudget;
+
+    @ConfigProperty(name = "sql.repeated-statement-threshold")
+    int repeatedStatementThreshold;
+
+    @Context
+    ResourceInfo resourceInfo;
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics == null || statistics.statementCount() == 0) {
+            return;
+        }
+        response.getHeaders().add(SERVER_TIMING, serverTiming(statistics));
+
+        SqlBudget budget = budget();
+        int maxStatements = budget == null ? statementBudget : budget.statements();
+        int maxRepeats = budget == null ? repeatedStatementThreshold : budget.repeatedStatements();
+        String endpoint = request.getMethod() + " /" + request.getUriInfo().getPath(false);
+        if (statistics.statementCount() > maxStatements) {
+            LOG.warnf("%s issued %d SQL statements, more than the budget of %d", endpoint, statistics.statementCount(), maxStatements);
+        }
+        statistics.repeatedStatements(maxRepeats).forEach((sql, count) ->
+                LOG.warnf("%s prepared the same SQL statement %d times, likely an N+1 query: %s", endpoint, count, sql));
+    }
+
+    private SqlBudget budget() {
+        if (resourceInfo.getResourceMethod() != null && resourceInfo.getResourceMethod().isAnnotationPresent(SqlBudget.class)) {
+            return resourceInfo.getResourceMethod().getAnnotation(SqlBudget.class);
+        }
+        return resourceInfo.getResourceClass() == null ? null : resourceInfo.getResourceClass().getAnnotation(SqlBudget.class);
+    }
+
+    static String serverTiming(SqlStatistics statistics) {
+        return String.format(Locale.ROOT, "sql;dur=%.1f;desc=\"%d statements\"",
+                statistics.executionTime().toNanos() / 1_000_000.0, statistics.statementCount());
+    }
+}
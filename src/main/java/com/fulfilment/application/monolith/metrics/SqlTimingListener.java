@@ -0,0 +1,39 @@
+package com.fulfilment.application.monolith.metrics;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Times the JDBC executions of a session. Hibernate creates one per session from the hibernate.session.events.auto
+ * property, and a session is only used by one thread at a time, so a plain field holds the start.
+ */
+public class SqlTimingListener extends BaseSessionEventListener {
+
+    private long start;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            statistics.recordExecution(System.nanoTime() - start);
+        }
+    }
+}
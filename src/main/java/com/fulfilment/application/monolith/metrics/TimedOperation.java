@@ -0,0 +1,18 @@
+package com.fulfilment.application.monolith.metrics;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Records the latency of every call of the annotated method (or of all business methods of the annotated class)
+ * in the {@code warehouse.operation} timer, tagged with the class, the method and the outcome of the call.
+ */
+@InterceptorBinding
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TimedOperation {
+}
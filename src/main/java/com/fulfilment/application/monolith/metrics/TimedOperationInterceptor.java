@@ -0,0 +1,83 @@
+package com.fulfilment.application.monolith.metrics;
+
+import com.fulfilment.application.monolith.exception.InvalidLocationException;
+import com.fulfilment.application.monolith.exception.WarehouseConflictException;
+import com.fulfilment.application.monolith.exception.WarehouseNotFoundException;
+import com.fulfilment.application.monolith.exception.WarehousePersistenceException;
+import com.fulfilment.application.monolith.exception.WarehouseValidationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.Priority;
+import jakarta.inject.Inject;
+import jakarta.interceptor.AroundInvoke;
+import jakarta.interceptor.Interceptor;
+import jakarta.interceptor.InvocationContext;
+import jakarta.persistence.PersistenceException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@TimedOperation
+@Interceptor
+// runs outside @Transactional so failures raised while committing are attributed to the operation too
+@Priority(Interceptor.Priority.PLATFORM_BEFORE + 100)
+public class TimedOperationInterceptor {
+
+    static final String METRIC_NAME = "warehouse.operation";
+
+    static final String SUCCESS = "success";
+    static final String VALIDATION_FAILED = "validation-failed";
+    static final String NOT_FOUND = "not-found";
+    static final String CONFLICT = "conflict";
+    static final String PERSISTENCE_ERROR = "persistence-error";
+    static final String ERROR = "error";
+
+    @Inject
+    MeterRegistry meterRegistry;
+
+    @ConfigProperty(name = "warehouse.metrics.percentile-histogram")
+    boolean percentileHistogram;
+
+    // timers are resolved once per method and outcome so the hot path is a map lookup and a clock read
+    private final ConcurrentHashMap<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    @AroundInvoke
+    Object time(InvocationContext context) throws Exception {
+        long start = System.nanoTime();
+        String outcome = SUCCESS;
+        try {
+            return context.proceed();
+        } catch (Exception e) {
+            outcome = outcome(e);
+            throw e;
+        } finally {
+            timer(context.getMethod(), outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    static String outcome(Exception exception) {
+        return switch (exception) {
+            case WarehouseValidationException e -> VALIDATION_FAILED;
+            case InvalidLocationException e -> VALIDATION_FAILED;
+            case WarehouseNotFoundException e -> NOT_FOUND;
+            case WarehouseConflictException e -> CONFLICT;
+            case WarehousePersistenceException e -> PERSISTENCE_ERROR;
+            case PersistenceException e -> PERSISTENCE_ERROR;
+            default -> ERROR;
+        };
+    }
+
+    private Timer timer(Method method, String outcome) {
+        return timers.computeIfAbsent(new TimerKey(method, outcome), key -> Timer.builder(METRIC_NAME)
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram(percentileHistogram)
+                .register(meterRegistry));
+    }
+
+    private record TimerKey(Method method, String outcome) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.fulfilment.application.monolith.products;
+
+import com.fulfilment.application.monolith.etag.VersionRegistry;
+import io.quarkus.cache.Cache;
+import io.quarkus.cache.CacheName;
+import io.quarkus.cache.CompositeCacheKey;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.WebApplicationException;
+import java.util.List;
+
+/**
+ * Read-through cache of the product catalog, sized and timed by the quarkus.cache.caffeine settings of its two
+ * caches. Concurrent misses on the same key wait for a single load. Entries are keyed by the PRODUCT version read
+ * before loading them: a load that overlaps a write is stored under the old version, which no reader asks for once
+ * the write has committed, so it is never served under the new ETag. Both caches are also cleared on every write to
+ * free the entries of old versions; products change rarely, so a finer invalidation isn't worth it.
+ */
+@ApplicationScoped
+public class ProductCatalog {
+
+  static final String LIST_CACHE = "product-list";
+  static final String PRODUCT_CACHE = "product";
+
+  @Inject ProductRepository productRepository;
+
+  @Inject VersionRegistry versionRegistry;
+
+  @Inject
+  @CacheName(LIST_CACHE)
+  Cache listCache;
+
+  @Inject
+  @CacheName(PRODUCT_CACHE)
+  Cache productCache;
+
+  void subscribe(@Observes StartupEvent event) {
+    versionRegistry.onChange(VersionRegistry.Table.PRODUCT, this::invalidateAll);
+  }
+
+  // shared by every caller, hence immutable
+  public List<ProductView> listAll() {
+    return listCache
+        .get(currentVersion(), version -> List.copyOf(productRepository.listAllViews()))
+        .await()
+        .indefinitely();
+  }
+
+  // a missing product is cached as null for its version, a create moves the version on
+  public ProductView findById(Long id) {
+    ProductView product =
+        productCache
+            .get(
+                new CompositeCacheKey(currentVersion(), id),
+                key -> productRepository.findViewById(id))
+            .await()
+            .indefinitely();
+    if (product == null) {
+      throw new WebApplicationException("Product with id of " + id + " does not exist.", 404);
+    }
+    return product;
+  }
+
+  private long currentVersion() {
+    return versionRegistry.version(VersionRegistry.Table.PRODUCT);
+  }
+
+  void invalidateAll() {
+    listCache.invalidateAll().await().indefinitely();
+    productCache.invalidateAll().await().indefinitely();
+  }
+}
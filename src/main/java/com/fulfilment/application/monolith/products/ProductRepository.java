@@ -1,7 +1,41 @@
 package com.fulfilment.application.monolith.products;
 
+import com.fulfilment.application.monolith.concurrency.DatabaseBound;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.util.List;
+import java.util.Map;
+import org.hibernate.jpa.HibernateHints;
 
 @ApplicationScoped
-public class ProductRepository implements PanacheRepository<Product> {}
+public class ProductRepository implements PanacheRepository<Product> {
+
+  @DatabaseBound
+  public List<ProductView> listAllViews() {
+    return getEntityManager()
+        .createQuery(
+            "select new "
+                + ProductView.class.getName()
+                + "(p.id, p.name, p.description, p.price, p.stock) from Product p order by p.name",
+            ProductView.class)
+        .getResultList();
+  }
+
+  @DatabaseBound
+  public ProductView findViewById(Long id) {
+    return getEntityManager()
+        .createQuery(
+            "select new "
+                + ProductView.class.getName()
+                + "(p.id, p.name, p.description, p.price, p.stock) from Product p where p.id = :id",
+            ProductView.class)
+        .setParameter("id", id)
+        .getResultStream()
+        .findFirst()
+        .orElse(null);
+  }
+
+  public Product findByIdReadOnly(Long id) {
+    return getEntityManager().find(Product.class, id, Map.of(HibernateHints.HINT_READ_ONLY, true));
+  }
+}
@@ -2,7 +2,10 @@ package com.fulfilment.application.monolith.products;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import io.quarkus.panache.common.Sort;
+import com.fulfilment.application.monolith.concurrency.DatabaseBound;
+import com.fulfilment.application.monolith.etag.ConditionalGet;
+import com.fulfilment.application.monolith.etag.VersionRegistry;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -24,30 +27,37 @@ import org.jboss.logging.Logger;
 @ApplicationScoped
 @Produces("application/json")
 @Consumes("application/json")
+@RunOnVirtualThread
+@ConditionalGet(VersionRegistry.Table.PRODUCT)
 public class ProductResource {
 
   @Inject ProductRepository productRepository;
 
+  @Inject ProductCatalog productCatalog;
+
+  @Inject VersionRegistry versionRegistry;
+
+  @Inject ProductStockReservations productStockReservations;
+
   private static final Logger LOGGER = Logger.getLogger(ProductResource.class.getName());
 
+  // the GETs are served from the catalog cache and not @DatabaseBound; a cache miss takes its permit in the repository
   @GET
-  public List<Product> get() {
-    return productRepository.listAll(Sort.by("name"));
+  public List<ProductView> get() {
+    return productCatalog.listAll();
   }
 
   @GET
   @Path("{id}")
-  public Product getSingle(Long id) {
-    Product entity = productRepository.findById(id);
-    if (entity == null) {
-      throw new WebApplicationException("Product with id of " + id + " does not exist.", 404);
-    }
-    return entity;
+  public ProductView getSingle(Long id) {
+    return productCatalog.findById(id);
   }
 
   @POST
+  @DatabaseBound
   @Transactional
   public Response create(Product product) {
+    versionRegistry.bump(VersionRegistry.Table.PRODUCT);
     if (product.id != null) {
       throw new WebApplicationException("Id was invalidly set on request.", 422);
     }
@@ -58,8 +68,10 @@ public class ProductResource {
 
   @PUT
   @Path("{id}")
+  @DatabaseBound
   @Transactional
   public Product update(Long id, Product product) {
+    versionRegistry.bump(VersionRegistry.Table.PRODUCT);
     if (product.name == null) {
       throw new WebApplicationException("Product Name was not set on request.", 422);
     }
@@ -76,19 +88,23 @@ public class ProductResource {
     entity.stock = product.stock;
 
     productRepository.persist(entity);
+    productStockReservations.overwriteAfterCommit(id, entity.stock);
 
     return entity;
   }
 
   @DELETE
   @Path("{id}")
+  @DatabaseBound
   @Transactional
   public Response delete(Long id) {
+    versionRegistry.bump(VersionRegistry.Table.PRODUCT);
     Product entity = productRepository.findById(id);
     if (entity == null) {
       throw new WebApplicationException("Product with id of " + id + " does not exist.", 404);
     }
     productRepository.delete(entity);
+    productStockReservations.overwriteAfterCommit(id, null);
     return Response.status(204).build();
   }
 
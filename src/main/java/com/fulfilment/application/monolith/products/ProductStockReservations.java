@@ -0,0 +1,215 @@
+package com.fulfilment.application.monolith.products;
+
+import com.fulfilment.application.monolith.etag.VersionRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.persistence.Cache;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+import jakarta.transaction.Transactional;
+import jakarta.ws.rs.WebApplicationException;
+import java.sql.PreparedStatement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.Session;
+import org.jboss.logging.Logger;
+
+/**
+ * Reservations against product stock. While a product is being reserved its available stock lives in memory in a
+ * {@link StripedStockCounter}, seeded from the database on first use, and is written back in the background with
+ * one batched statement per flush. The database therefore lags by at most one flush interval; on shutdown the
+ * counters are flushed once more, so a restart picks up from the stock that was reserved. As with the ETags, this
+ * assumes a single instance owns the product table.
+ *
+ * <p>Next to the available stock every product counts the units that are reserved and not yet released, in a
+ * second striped counter, so a release can never return more than was reserved.
+ */
+@ApplicationScoped
+public class ProductStockReservations {
+
+  private static final Logger LOGGER = Logger.getLogger(ProductStockReservations.class.getName());
+
+  private static final int STRIPES =
+      Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+  private final Map<Long, ProductStock> counters = new ConcurrentHashMap<>();
+
+  // committed stock overwrites per product, tells a counter being seeded that its load may be stale
+  private final Map<Long, Long> overwrites = new ConcurrentHashMap<>();
+
+  @Inject ProductRepository productRepository;
+
+  @Inject VersionRegistry versionRegistry;
+
+  @Inject TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+  /**
+   * @return false when the product has less than quantity in stock
+   * @throws WebApplicationException 404 when there is no product with the given id
+   */
+  public boolean reserve(Long productId, int quantity) {
+    ProductStock stock = counter(productId);
+    if (!stock.available().tryReserve(quantity)) {
+      return false;
+    }
+    stock.reserved().release(quantity);
+    return true;
+  }
+
+  /**
+   * Gives back units taken by earlier reservations.
+   *
+   * @return false when fewer than quantity units are reserved, e.g. because a PUT of the product replaced the stock
+   * @throws WebApplicationException 404 when there is no product with the given id
+   */
+  public boolean release(Long productId, int quantity) {
+    ProductStock stock = counter(productId);
+    if (!stock.reserved().tryReserve(quantity)) {
+      return false;
+    }
+    stock.available().release(quantity);
+    return true;
+  }
+
+  /**
+   * To be called by every transaction that writes Product.stock directly: once it commits the loaded counter is
+   * replaced by the new value, or dropped when the product was deleted (stock null).
+   */
+  public void overwriteAfterCommit(Long productId, Integer stock) {
+    transactionSynchronizationRegistry.registerInterposedSynchronization(
+        new Synchronization() {
+          @Override
+          public void beforeCompletion() {}
+
+          @Override
+          public void afterCompletion(int status) {
+            if (status != Status.STATUS_COMMITTED) {
+              return;
+            }
+            // counted before the counter is looked up, see counter()
+            overwrites.merge(productId, 1L, Long::sum);
+            if (stock == null) {
+              counters.remove(productId);
+              return;
+            }
+            ProductStock counter = counters.get(productId);
+            if (counter != null) {
+              counter.reset(stock);
+            }
+          }
+        });
+  }
+
+  @Scheduled(
+      every = "${product.stock.flush-interval}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  @Transactional
+  void flush() {
+    Map<Long, Long> changed = new LinkedHashMap<>();
+    counters.forEach(
+        (productId, counter) -> {
+          if (counter.available().takeDirty()) {
+            changed.put(productId, counter.available().available());
+          }
+        });
+    if (changed.isEmpty()) {
+      return;
+    }
+
+    versionRegistry.bump(VersionRegistry.Table.PRODUCT);
+    // a failed flush is retried by the next one; the statement bypasses Hibernate, so cached entities are evicted
+    transactionSynchronizationRegistry.registerInterposedSynchronization(
+        new Synchronization() {
+          @Override
+          public void beforeCompletion() {}
+
+          @Override
+          public void afterCompletion(int status) {
+            if (status != Status.STATUS_COMMITTED) {
+              changed.keySet().forEach(ProductStockReservations.this::markDirty);
+              return;
+            }
+            Cache cache = productRepository.getEntityManager().getEntityManagerFactory().getCache();
+            changed.keySet().forEach(productId -> cache.evict(Product.class, productId));
+          }
+        });
+
+    // the absolute value is written, so a statement that is repeated or overtaken by a later one is harmless
+    productRepository
+        .getEntityManager()
+        .unwrap(Session.class)
+        .doWork(
+            connection -> {
+              try (PreparedStatement statement =
+                  connection.prepareStatement("UPDATE product SET stock = ? WHERE id = ?")) {
+                for (Map.Entry<Long, Long> entry : changed.entrySet()) {
+                  statement.setLong(1, entry.getValue());
+                  statement.setLong(2, entry.getKey());
+                  statement.addBatch();
+                }
+                statement.executeBatch();
+              }
+            });
+    LOGGER.debugf("Flushed the reserved stock of %d products", changed.size());
+  }
+
+  void onShutdown(@Observes ShutdownEvent event) {
+    flush();
+  }
+
+  private void markDirty(Long productId) {
+    ProductStock counter = counters.get(productId);
+    if (counter != null) {
+      counter.available().markDirty();
+    }
+  }
+
+  private ProductStock counter(Long productId) {
+    ProductStock counter = counters.get(productId);
+    if (counter != null) {
+      return counter;
+    }
+    // loaded outside computeIfAbsent, the database call must not hold a lock on the map; the first one wins
+    long seen = overwrites.getOrDefault(productId, 0L);
+    int stock = loadStock(productId);
+    counter = counters.computeIfAbsent(productId, id -> new ProductStock(stock));
+    // a write that committed during the load found no counter to overwrite, so the seed may be stale: load again
+    // until no write slipped in. A later write finds the counter and overwrites it itself
+    while (overwrites.getOrDefault(productId, 0L) != seen) {
+      seen = overwrites.getOrDefault(productId, 0L);
+      try {
+        counter.reset(loadStock(productId));
+      } catch (WebApplicationException e) {
+        counters.remove(productId, counter);
+        throw e;
+      }
+    }
+    return counter;
+  }
+
+  private int loadStock(Long productId) {
+    Product product = productRepository.findByIdReadOnly(productId);
+    if (product == null) {
+      throw new WebApplicationException("Product with id of " + productId + " does not exist.", 404);
+    }
+    return product.stock;
+  }
+
+  private record ProductStock(StripedStockCounter available, StripedStockCounter reserved) {
+
+    ProductStock(long stock) {
+      this(new StripedStockCounter(STRIPES, stock), new StripedStockCounter(STRIPES, 0));
+    }
+
+    // the new stock replaces whatever was reserved before, those units can no longer be released
+    void reset(long stock) {
+      available.reset(stock);
+      reserved.reset(0);
+    }
+  }
+}
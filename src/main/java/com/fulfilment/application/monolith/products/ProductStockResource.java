@@ -0,0 +1,48 @@
+package com.fulfilment.application.monolith.products;
+
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Response;
+
+// not @DatabaseBound: apart from the first call for a product, reservations never touch the database
+@Path("product/{id}/stock")
+@ApplicationScoped
+@Produces("application/json")
+@Consumes("application/json")
+@RunOnVirtualThread
+public class ProductStockResource {
+
+  @Inject ProductStockReservations productStockReservations;
+
+  @POST
+  @Path("reserve")
+  public Response reserve(Long id, StockReservation reservation) {
+    if (!productStockReservations.reserve(id, quantity(reservation))) {
+      throw new WebApplicationException("Product with id of " + id + " has not enough stock.", 409);
+    }
+    return Response.status(204).build();
+  }
+
+  @POST
+  @Path("release")
+  public Response release(Long id, StockReservation reservation) {
+    if (!productStockReservations.release(id, quantity(reservation))) {
+      throw new WebApplicationException(
+          "Product with id of " + id + " has fewer than " + reservation.quantity() + " units reserved.", 409);
+    }
+    return Response.status(204).build();
+  }
+
+  private static int quantity(StockReservation reservation) {
+    if (reservation == null || reservation.quantity() <= 0) {
+      throw new WebApplicationException("Quantity must be a positive number.", 422);
+    }
+    return reservation.quantity();
+  }
+}
@@ -0,0 +1,7 @@
+package com.fulfilment.application.monolith.products;
+
+import java.math.BigDecimal;
+
+// read-only projection of a product, serialized exactly like the entity. Queries select straight into it, so
+// listing products adds nothing to the persistence context and leaves nothing to dirty check at flush
+public record ProductView(Long id, String name, String description, BigDecimal price, int stock) {}
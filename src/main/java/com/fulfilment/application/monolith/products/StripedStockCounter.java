@@ -0,0 +1,107 @@
+package com.fulfilment.application.monolith.products;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Available stock of one product, split over a number of stripes so that concurrent reservations mostly update
+ * different cache lines. A reservation is taken from a single stripe with a compare-and-set that never lets the
+ * stripe drop below zero; only when no stripe can cover it on its own are the stripes merged under a lock.
+ */
+final class StripedStockCounter {
+
+  // 16 longs between two stripes keeps every stripe on its own 128 byte line (two lines with adjacent prefetch)
+  private static final int PADDING = 16;
+
+  private final AtomicLongArray cells;
+  private final int mask;
+  private volatile boolean dirty;
+
+  StripedStockCounter(int stripes, long stock) {
+    if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+      throw new IllegalArgumentException("The number of stripes must be a power of two: " + stripes);
+    }
+    this.cells = new AtomicLongArray(stripes * PADDING);
+    this.mask = stripes - 1;
+    spread(stock);
+  }
+
+  boolean tryReserve(long quantity) {
+    int home = ThreadLocalRandom.current().nextInt() & mask;
+    for (int i = 0; i <= mask; i++) {
+      int index = ((home + i) & mask) * PADDING;
+      long current;
+      while ((current = cells.get(index)) >= quantity) {
+        if (cells.compareAndSet(index, current, current - quantity)) {
+          markDirty();
+          return true;
+        }
+      }
+    }
+    return reserveAcrossStripes(quantity);
+  }
+
+  void release(long quantity) {
+    cells.getAndAdd((ThreadLocalRandom.current().nextInt() & mask) * PADDING, quantity);
+    markDirty();
+  }
+
+  long available() {
+    long sum = 0;
+    for (int i = 0; i <= mask; i++) {
+      sum += cells.get(i * PADDING);
+    }
+    return sum;
+  }
+
+  // replaces the available stock, e.g. after the product was edited; reservations racing with it are overwritten
+  synchronized void reset(long stock) {
+    drain();
+    spread(stock);
+    markDirty();
+  }
+
+  // true at most once per change, the caller is then expected to write available() back
+  boolean takeDirty() {
+    if (!dirty) {
+      return false;
+    }
+    dirty = false;
+    return true;
+  }
+
+  void markDirty() {
+    // read before write: the flag is shared by every stripe, so only the first change after a flush may write it
+    if (!dirty) {
+      dirty = true;
+    }
+  }
+
+  // the units are moved out of the stripes atomically, so concurrent fast path reservations can't take them twice
+  private synchronized boolean reserveAcrossStripes(long quantity) {
+    long total = drain();
+    boolean reserved = total >= quantity;
+    spread(reserved ? total - quantity : total);
+    if (reserved) {
+      markDirty();
+    }
+    return reserved;
+  }
+
+  private long drain() {
+    long total = 0;
+    for (int i = 0; i <= mask; i++) {
+      total += cells.getAndSet(i * PADDING, 0);
+    }
+    return total;
+  }
+
+  private void spread(long stock) {
+    int stripes = mask + 1;
+    long share = stock / stripes;
+    long remainder = stock % stripes;
+    for (int i = 0; i < stripes; i++) {
+      cells.getAndAdd(i * PADDING, share + (i < remainder ? 1 : 0));
+    }
+  }
+}
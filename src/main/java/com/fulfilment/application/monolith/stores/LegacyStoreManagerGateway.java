@@ -1,6 +1,8 @@
 package com.fulfilment.application.monolith.stores;
 
 import jakarta.enterprise.context.ApplicationScoped;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -44,8 +46,9 @@ public class LegacyStoreManagerGateway {
       Files.delete(tempFile);
       System.out.println("Temporary file deleted.");
 
-    } catch (Exception e) {
-      e.printStackTrace();
+    } catch (IOException e) {
+      // surfaced so the outbox dispatcher can retry the store later
+      throw new UncheckedIOException("Failed to sync store " + store.name + " to legacy system", e);
     }
   }
 }
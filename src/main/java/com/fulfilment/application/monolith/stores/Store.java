@@ -4,6 +4,9 @@ import io.quarkus.hibernate.orm.panache.PanacheEntity;
 import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import java.util.List;
+import java.util.Map;
+import org.hibernate.jpa.HibernateHints;
 
 @Entity
 @Cacheable
@@ -19,4 +22,16 @@ public class Store extends PanacheEntity {
   public Store(String name) {
     this.name = name;
   }
+
+  public static List<StoreView> listAllViews() {
+    return getEntityManager()
+        .createQuery(
+            "select new " + StoreView.class.getName() + "(s.id, s.name, s.quantityProductsInStock) from Store s order by s.name",
+            StoreView.class)
+        .getResultList();
+  }
+
+  public static Store findByIdReadOnly(Long id) {
+    return getEntityManager().find(Store.class, id, Map.of(HibernateHints.HINT_READ_ONLY, true));
+  }
 }
@@ -2,11 +2,14 @@ package com.fulfilment.application.monolith.stores;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fulfilment.application.monolith.concurrency.DatabaseBound;
+import com.fulfilment.application.monolith.etag.ConditionalGet;
+import com.fulfilment.application.monolith.etag.VersionRegistry;
 import com.fulfilment.application.monolith.exception.InvalidStoreException;
 import com.fulfilment.application.monolith.exception.StoreNotFoundException;
 import com.fulfilment.application.monolith.stores.event.StoreCreateEvent;
 import com.fulfilment.application.monolith.stores.event.StoreUpdateEvent;
-import io.quarkus.panache.common.Sort;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
@@ -23,6 +26,9 @@ import java.util.List;
 @ApplicationScoped
 @Produces("application/json")
 @Consumes("application/json")
+@RunOnVirtualThread
+@DatabaseBound
+@ConditionalGet(VersionRegistry.Table.STORE)
 public class StoreResource {
 
     private static final Logger LOGGER = Logger.getLogger(StoreResource.class.getName());
@@ -30,18 +36,20 @@ public class StoreResource {
     Event<StoreCreateEvent> storeCreateEvent;
     @Inject
     Event<StoreUpdateEvent> storeUpdateEvent;
+    @Inject
+    VersionRegistry versionRegistry;
 
     @GET
-    public List<Store> get() {
+    public List<StoreView> get() {
         LOGGER.infof("Getting list of ll the store names");
-        return Store.listAll(Sort.by("name"));
+        return Store.listAllViews();
     }
 
     @GET
     @Path("{id}")
     public Store getSingle(Long id) {
         LOGGER.infof("Getting store with [id=%d]", id);
-        Store entity = Store.findById(id);
+        Store entity = Store.findByIdReadOnly(id);
         if (entity == null) {
             throw new StoreNotFoundException("Store with id of " + id + " does not exist.", 404);
         }
@@ -51,6 +59,7 @@ public class StoreResource {
     @POST
     @Transactional
     public Response create(Store store) {
+        versionRegistry.bump(VersionRegistry.Table.STORE);
         LOGGER.infof("Creating store [name=%s]", store.name);
         if (store.id != null) {
             throw new InvalidStoreException("Id was invalidly set on request.", 422);
@@ -68,6 +77,7 @@ public class StoreResource {
     @Path("{id}")
     @Transactional
     public Store update(Long id, Store updatedStore) {
+        versionRegistry.bump(VersionRegistry.Table.STORE);
         LOGGER.infof("Updating store [name=%s]", updatedStore.name);
         if (updatedStore.name == null) {
             throw new InvalidStoreException("Store Name was not set on request.", 422);
@@ -91,6 +101,7 @@ public class StoreResource {
     @Path("{id}")
     @Transactional
     public Store patch(Long id, Store updatedStore) {
+        versionRegistry.bump(VersionRegistry.Table.STORE);
         LOGGER.infof("Updating store [name=%s]", updatedStore.name);
         if (updatedStore.name == null) {
             throw new InvalidStoreException("Store Name was not set on request.", 422);
@@ -120,6 +131,7 @@ public class StoreResource {
     @Path("{id}")
     @Transactional
     public Response delete(Long id) {
+        versionRegistry.bump(VersionRegistry.Table.STORE);
         LOGGER.infof("Deleting store [id=%d]", id);
         Store entity = Store.findById(id);
         if (entity == null) {
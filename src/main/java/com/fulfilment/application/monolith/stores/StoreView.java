@@ -0,0 +1,4 @@
+package com.fulfilment.application.monolith.stores;
+
+// read-only projection of a store, serialized exactly like the entity
+public record StoreView(Long id, String name, int quantityProductsInStock) {}
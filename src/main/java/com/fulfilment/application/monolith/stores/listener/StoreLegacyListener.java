@@ -1,41 +1,35 @@
 package com.fulfilment.application.monolith.stores.listener;
 
-import com.fulfilment.application.monolith.stores.LegacyStoreManagerGateway;
 import com.fulfilment.application.monolith.stores.event.StoreCreateEvent;
 import com.fulfilment.application.monolith.stores.event.StoreUpdateEvent;
+import com.fulfilment.application.monolith.stores.outbox.StoreOutboxMessage;
+import com.fulfilment.application.monolith.stores.outbox.StoreOutboxRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
-import jakarta.enterprise.event.TransactionPhase;
 import jakarta.inject.Inject;
 import org.jboss.logging.Logger;
 
+import java.time.LocalDateTime;
+
+/**
+ * Records store changes in the outbox as part of the transaction that makes them, the legacy system itself is
+ * only called later by the {@link com.fulfilment.application.monolith.stores.outbox.StoreOutboxDispatcher}.
+ */
 @ApplicationScoped
 public class StoreLegacyListener {
 
     private static final Logger LOGGER = Logger.getLogger(StoreLegacyListener.class.getName());
 
     @Inject
-    LegacyStoreManagerGateway legacyStoreManagerGateway;
-
-    public void onStoreCreate(@Observes(during = TransactionPhase.AFTER_SUCCESS) StoreCreateEvent storeCreateEvent) {
-        LOGGER.infof("Syncing store creation to legacy system [id=%d]", storeCreateEvent.store().id);
+    StoreOutboxRepository storeOutboxRepository;
 
-        try {
-            legacyStoreManagerGateway.createStoreOnLegacySystem(storeCreateEvent.store());
-        } catch (Exception exception) {
-            LOGGER.errorf(exception, "Failed to sync store creation to legacy system [id=%d]", storeCreateEvent.store().id);
-            throw exception;
-        }
+    public void onStoreCreate(@Observes StoreCreateEvent storeCreateEvent) {
+        LOGGER.infof("Queueing store creation for legacy system [id=%d]", storeCreateEvent.store().id);
+        storeOutboxRepository.persist(new StoreOutboxMessage(storeCreateEvent.store().id, StoreOutboxMessage.Type.CREATED, LocalDateTime.now()));
     }
 
-    public void onStoreUpdate(@Observes(during = TransactionPhase.AFTER_SUCCESS) StoreUpdateEvent storeUpdateEvent) {
-        LOGGER.infof("Syncing store update to legacy system [id=%d]", storeUpdateEvent.store().id);
-
-        try {
-            legacyStoreManagerGateway.updateStoreOnLegacySystem(storeUpdateEvent.store());
-        } catch (Exception exception) {
-            LOGGER.errorf(exception, "Failed to sync store update to legacy system [id=%d]", storeUpdateEvent.store().id);
-            throw exception;
-        }
+    public void onStoreUpdate(@Observes StoreUpdateEvent storeUpdateEvent) {
+        LOGGER.infof("Queueing store update for legacy system [id=%d]", storeUpdateEvent.store().id);
+        storeOutboxRepository.persist(new StoreOutboxMessage(storeUpdateEvent.store().id, StoreOutboxMessage.Type.UPDATED, LocalDateTime.now()));
     }
 }
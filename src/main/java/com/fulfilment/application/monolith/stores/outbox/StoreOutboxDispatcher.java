@@ -0,0 +1,103 @@
+package com.fulfilment.application.monolith.stores.outbox;
+
+import com.fulfilment.application.monolith.stores.LegacyStoreManagerGateway;
+import com.fulfilment.application.monolith.stores.Store;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Drains the store outbox in the background and pushes each change to the legacy system. The current state of
+ * the store is read at dispatch time, so retried messages never send stale data. Messages are claimed in one short
+ * transaction and the legacy system is called after it committed, so a slow legacy system holds neither row locks
+ * nor a connection; each outcome is then recorded in a transaction of its own.
+ */
+@ApplicationScoped
+public class StoreOutboxDispatcher {
+
+  private static final Logger LOGGER = Logger.getLogger(StoreOutboxDispatcher.class.getName());
+
+  @Inject StoreOutboxRepository storeOutboxRepository;
+
+  @Inject LegacyStoreManagerGateway legacyStoreManagerGateway;
+
+  @ConfigProperty(name = "store.legacy-sync.batch-size")
+  int batchSize;
+
+  @ConfigProperty(name = "store.legacy-sync.initial-backoff")
+  Duration initialBackoff;
+
+  @ConfigProperty(name = "store.legacy-sync.max-backoff")
+  Duration maxBackoff;
+
+  @ConfigProperty(name = "store.legacy-sync.claim-timeout")
+  Duration claimTimeout;
+
+  @Scheduled(
+      every = "${store.legacy-sync.interval}",
+      concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+  void dispatch() {
+    LocalDateTime now = LocalDateTime.now();
+    // a dispatcher that dies while delivering leaves its messages to be claimed again once the claim timed out
+    List<StoreOutboxMessage> messages =
+        storeOutboxRepository.claimDueMessages(now, now.plus(claimTimeout), batchSize);
+    if (messages.isEmpty()) {
+      return;
+    }
+
+    List<Long> storeIds = messages.stream().map(message -> message.storeId).distinct().toList();
+    Map<Long, Store> storesById =
+        Store.<Store>list("id in ?1", storeIds).stream()
+            .collect(Collectors.toMap(store -> store.id, Function.identity()));
+
+    int delivered = 0;
+    for (StoreOutboxMessage message : messages) {
+      Store store = storesById.get(message.storeId);
+      if (store == null) {
+        // the store was deleted before its change could be delivered, nothing left to sync
+        storeOutboxRepository.markDelivered(message.id);
+        continue;
+      }
+
+      try {
+        switch (message.type) {
+          case CREATED -> legacyStoreManagerGateway.createStoreOnLegacySystem(store);
+          case UPDATED -> legacyStoreManagerGateway.updateStoreOnLegacySystem(store);
+        }
+        storeOutboxRepository.markDelivered(message.id);
+        delivered++;
+      } catch (Exception exception) {
+        int attempts = message.attempts + 1;
+        storeOutboxRepository.markFailed(
+            message.id,
+            attempts,
+            LocalDateTime.now().plus(backoff(attempts, initialBackoff, maxBackoff)),
+            truncate(String.valueOf(exception.getMessage())));
+        LOGGER.errorf(
+            exception, "Failed to sync store to legacy system [id=%d, attempt=%d]", message.storeId, attempts);
+      }
+    }
+    LOGGER.infof("Synced %d of %d store changes to legacy system", delivered, messages.size());
+  }
+
+  static Duration backoff(int attempts, Duration initialBackoff, Duration maxBackoff) {
+    // doubles with every failed attempt, capped so a long outage is still retried regularly
+    int exponent = Math.min(attempts - 1, 30);
+    Duration backoff = initialBackoff.multipliedBy(1L << exponent);
+    return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+  }
+
+  private static String truncate(String error) {
+    return error.length() <= StoreOutboxMessage.MAX_ERROR_LENGTH
+        ? error
+        : error.substring(0, StoreOutboxMessage.MAX_ERROR_LENGTH);
+  }
+}
@@ -0,0 +1,55 @@
+package com.fulfilment.application.monolith.stores.outbox;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * A store change waiting to be propagated to the legacy system. Rows are written in the same transaction as
+ * the change itself, so a committed change is never lost, and deleted once the legacy system accepted it.
+ */
+@Entity
+@Table(name = "store_outbox")
+public class StoreOutboxMessage {
+
+  public static final int MAX_ERROR_LENGTH = 1000;
+
+  public enum Type {
+    CREATED,
+    UPDATED
+  }
+
+  @Id @GeneratedValue public Long id;
+
+  @Column(nullable = false)
+  public Long storeId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 10)
+  public Type type;
+
+  @Column(nullable = false)
+  public LocalDateTime createdAt;
+
+  @Column(nullable = false)
+  public LocalDateTime nextAttemptAt;
+
+  public int attempts;
+
+  @Column(length = MAX_ERROR_LENGTH)
+  public String lastError;
+
+  public StoreOutboxMessage() {}
+
+  public StoreOutboxMessage(Long storeId, Type type, LocalDateTime createdAt) {
+    this.storeId = storeId;
+    this.type = type;
+    this.createdAt = createdAt;
+    this.nextAttemptAt = createdAt;
+  }
+}
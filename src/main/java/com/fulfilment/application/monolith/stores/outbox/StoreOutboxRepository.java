@@ -0,0 +1,49 @@
+package com.fulfilment.application.monolith.stores.outbox;
+
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Page;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.hibernate.jpa.SpecHints;
+
+@ApplicationScoped
+public class StoreOutboxRepository implements PanacheRepository<StoreOutboxMessage> {
+
+  // -2 is Hibernate's SKIP LOCKED timeout: concurrent dispatchers each claim a disjoint set of rows
+  private static final int SKIP_LOCKED = -2;
+
+  /**
+   * Claims the due messages that are the oldest of their store, so a store's changes reach the legacy system in
+   * the order they were made: while an earlier change is pending or being retried, later ones wait. Claimed
+   * messages are not due again before leasedUntil, which keeps other dispatchers off them while they are delivered
+   * outside this transaction.
+   */
+  @Transactional
+  public List<StoreOutboxMessage> claimDueMessages(LocalDateTime now, LocalDateTime leasedUntil, int limit) {
+    List<StoreOutboxMessage> messages =
+        find(
+                "from StoreOutboxMessage m where m.nextAttemptAt <= ?1 and not exists"
+                    + " (select 1 from StoreOutboxMessage earlier where earlier.storeId = m.storeId and earlier.id < m.id)"
+                    + " order by m.id",
+                now)
+            .withLock(LockModeType.PESSIMISTIC_WRITE)
+            .withHint(SpecHints.HINT_SPEC_LOCK_TIMEOUT, SKIP_LOCKED)
+            .page(Page.ofSize(limit))
+            .list();
+    messages.forEach(message -> message.nextAttemptAt = leasedUntil);
+    return messages;
+  }
+
+  @Transactional
+  public void markDelivered(Long id) {
+    deleteById(id);
+  }
+
+  @Transactional
+  public void markFailed(Long id, int attempts, LocalDateTime nextAttemptAt, String error) {
+    update("attempts = ?1, nextAttemptAt = ?2, lastError = ?3 where id = ?4", attempts, nextAttemptAt, error, id);
+  }
+}
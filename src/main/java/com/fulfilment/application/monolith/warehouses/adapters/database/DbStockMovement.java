@@ -0,0 +1,32 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "warehouse_stock_movement")
+public class DbStockMovement {
+
+  @Id @GeneratedValue public Long id;
+
+  @Column(nullable = false)
+  public Long warehouseId;
+
+  public int delta;
+
+  @Column(nullable = false)
+  public LocalDateTime recordedAt;
+
+  public DbStockMovement() {}
+
+  public DbStockMovement(Long warehouseId, int delta, LocalDateTime recordedAt) {
+    this.warehouseId = warehouseId;
+    this.delta = delta;
+    this.recordedAt = recordedAt;
+  }
+}
@@ -1,24 +1,37 @@
 package com.fulfilment.application.monolith.warehouses.adapters.database;
 
 import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "warehouse")
 @Cacheable
+@NaturalIdCache(region = DbWarehouse.NATURAL_ID_CACHE_REGION)
 @Data
 public class DbWarehouse {
 
+  public static final String NATURAL_ID_CACHE_REGION = "warehouse-business-unit-code";
+
   @Id @GeneratedValue public Long id;
 
   public String businessUnitCode;
 
+  // the business unit code while the warehouse is active, null once archived: replaced warehouses keep their
+  // code for history, so only this column is unique and can serve as the natural id
+  @NaturalId(mutable = true)
+  @Column(unique = true)
+  public String activeBusinessUnitCode;
+
   public String location;
 
   public Integer capacity;
@@ -29,5 +42,17 @@ public class DbWarehouse {
 
   public LocalDateTime archivedAt;
 
+  @Version public Long version;
+
   public DbWarehouse() {}
+
+  public void setBusinessUnitCode(String businessUnitCode) {
+    this.businessUnitCode = businessUnitCode;
+    this.activeBusinessUnitCode = archivedAt == null ? businessUnitCode : null;
+  }
+
+  public void setArchivedAt(LocalDateTime archivedAt) {
+    this.archivedAt = archivedAt;
+    this.activeBusinessUnitCode = archivedAt == null ? businessUnitCode : null;
+  }
 }
@@ -0,0 +1,216 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import com.fulfilment.application.monolith.etag.VersionRegistry;
+import com.fulfilment.application.monolith.exception.WarehouseConflictException;
+import com.fulfilment.application.monolith.exception.WarehouseNotFoundException;
+import com.fulfilment.application.monolith.mapper.WarehouseMapper;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseCreationCheck;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.pgclient.PgPool;
+import io.vertx.mutiny.sqlclient.SqlConnection;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowIterator;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.jboss.logging.Logger;
+
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@link ReactiveWarehouseStore} on the reactive PostgreSQL client, sharing the {@code warehouse} table with
+ * {@link WarehouseRepository}. Hibernate Reactive cannot run next to Hibernate ORM in this Quarkus version, so
+ * this adapter issues plain SQL. The per-location totals are kept by the trigger on the table, as for the blocking one.
+ */
+@ApplicationScoped
+public class ReactiveWarehouseRepository implements ReactiveWarehouseStore {
+
+    private static final Logger LOG = Logger.getLogger(ReactiveWarehouseRepository.class);
+
+    private static final String COLUMNS = "id, businessUnitCode, location, capacity, stock, createdAt, archivedAt";
+    // the stock read includes the movements still waiting in the ledger, the same as the blocking adapter
+    private static final String SELECT_COLUMNS = "id, businessUnitCode, location, capacity, "
+            + "CAST(stock + COALESCE((SELECT sum(m.delta) FROM warehouse_stock_movement m WHERE m.warehouseId = warehouse.id), 0) AS INTEGER) AS stock, "
+            + "createdAt, archivedAt, version";
+    private static final String INSERT = "INSERT INTO warehouse (" + COLUMNS + ", activeBusinessUnitCode) "
+            + "VALUES (nextval('warehouse_seq'), $1, $2, $3, $4, $5, $6, CASE WHEN $6 IS NULL THEN $1 END) RETURNING id";
+    // the same lock and reads as WarehouseRepository.lockLocationForCreation, so blocking and reactive creates at a
+    // location also wait for each other
+    private static final String LOCK_LOCATION = "SELECT 1 FROM pg_advisory_xact_lock(" + WarehouseRepository.LOCATION_LOCK_NAMESPACE + ", hashtext($1))";
+    private static final String CREATION_CHECK = "SELECT"
+            + " (SELECT t.warehouses FROM location_totals t WHERE t.location = $2) AS warehouses,"
+            + " (SELECT t.capacity FROM location_totals t WHERE t.location = $2) AS capacity,"
+            + " EXISTS (SELECT 1 FROM warehouse w WHERE w.activeBusinessUnitCode = $1) AS taken";
+
+    private final PgPool client;
+    private final VersionRegistry versionRegistry;
+
+    public ReactiveWarehouseRepository(PgPool client, VersionRegistry versionRegistry) {
+        this.client = client;
+        this.versionRegistry = versionRegistry;
+    }
+
+    @Override
+    public Uni<List<Warehouse>> getAllWarehouses() {
+        return client.query("SELECT " + SELECT_COLUMNS + " FROM warehouse ORDER BY id")
+                .execute()
+                .map(ReactiveWarehouseRepository::toWarehouses);
+    }
+
+    @Override
+    public Uni<List<Warehouse>> getWarehousesPage(Long afterId, int limit) {
+        return client.preparedQuery("SELECT " + SELECT_COLUMNS + " FROM warehouse WHERE id > $1 ORDER BY id LIMIT $2")
+                .execute(Tuple.of(afterId == null ? 0L : afterId, limit))
+                .map(ReactiveWarehouseRepository::toWarehouses);
+    }
+
+    @Override
+    public Uni<Warehouse> create(Warehouse warehouse, Consumer<WarehouseCreationCheck> checks) {
+        return client.withTransaction(connection -> lockLocation(connection, warehouse, checks)
+                        .chain(() -> connection.preparedQuery(INSERT).execute(insertTuple(warehouse))))
+                .map(rows -> {
+                    warehouse.setWareHouseId(rows.iterator().next().getLong("id"));
+                    versionRegistry.bump(VersionRegistry.Table.WAREHOUSE);
+                    return warehouse;
+                })
+                .onFailure().invoke(e -> LOG.error("Failed to create warehouse", e));
+    }
+
+    @Override
+    public Uni<Void> update(Warehouse warehouse) {
+        return client.preparedQuery("UPDATE warehouse w SET businessUnitCode = $1, activeBusinessUnitCode = CASE WHEN w.archivedAt IS NULL THEN $1 END, location = $2, capacity = $3, "
+                        + "stock = $4 - COALESCE((SELECT sum(m.delta) FROM warehouse_stock_movement m WHERE m.warehouseId = w.id), 0), "
+                        + "version = w.version + 1 WHERE w.id = $5 AND w.version = $6")
+                .execute(Tuple.of(
+                        warehouse.getBusinessUnitCode(),
+                        warehouse.getLocation(),
+                        warehouse.getCapacity(),
+                        warehouse.getStock(),
+                        warehouse.getWareHouseId(),
+                        warehouse.getVersion()))
+                .invoke(rows -> {
+                    if (rows.rowCount() == 0) {
+                        throw new WarehouseConflictException("Warehouse with id " + warehouse.getWareHouseId()
+                                + " was changed or removed since version " + warehouse.getVersion() + " was read");
+                    }
+                    versionRegistry.bump(VersionRegistry.Table.WAREHOUSE);
+                })
+                .onFailure().invoke(e -> LOG.error("Failed to update warehouse", e))
+                .replaceWithVoid();
+    }
+
+    @Override
+    public Uni<Warehouse> replace(Warehouse current, Warehouse successor, Consumer<WarehouseCreationCheck> checks) {
+        successor.setWareHouseId(null);
+        successor.setVersion(null);
+        successor.setArchivedAt(null);
+        if (successor.getCreationAt() == null) {
+            successor.setCreationAt(ZonedDateTime.now());
+        }
+        return client.withTransaction(connection -> lockLocation(connection, successor, checks)
+                        .chain(() -> connection
+                                .preparedQuery("UPDATE warehouse SET archivedAt = $1, activeBusinessUnitCode = NULL, version = version + 1 "
+                                        + "WHERE activeBusinessUnitCode = $2 AND version = $3")
+                                .execute(Tuple.of(LocalDateTime.now(), current.getBusinessUnitCode(), current.getVersion())))
+                        .chain(archived -> {
+                            if (archived.rowCount() == 0) {
+                                throw new WarehouseConflictException("Warehouse with businessUnitCode '" + current.getBusinessUnitCode()
+                                        + "' was changed, archived or replaced since version " + current.getVersion() + " was read");
+                            }
+                            return connection.preparedQuery(INSERT).execute(insertTuple(successor));
+                        }))
+                .map(rows -> {
+                    successor.setWareHouseId(rows.iterator().next().getLong("id"));
+                    successor.setVersion(0L);
+                    versionRegistry.bump(VersionRegistry.Table.WAREHOUSE);
+                    return successor;
+                })
+                .onFailure().invoke(e -> LOG.error("Failed to replace warehouse", e));
+    }
+
+    @Override
+    public Uni<Warehouse> findByWarehouseId(Long id) {
+        return client.preparedQuery("SELECT " + SELECT_COLUMNS + " FROM warehouse WHERE id = $1")
+                .execute(Tuple.of(id))
+                .map(ReactiveWarehouseRepository::firstOrNull);
+    }
+
+    @Override
+    public Uni<Void> archive(Long id) {
+        return client.preparedQuery("UPDATE warehouse SET archivedAt = $1, activeBusinessUnitCode = NULL, version = version + 1 WHERE id = $2 AND archivedAt IS NULL")
+                .execute(Tuple.of(LocalDateTime.now(), id))
+                .invoke(rows -> {
+                    requireUpdated(rows, id);
+                    versionRegistry.bump(VersionRegistry.Table.WAREHOUSE);
+                })
+                .replaceWithVoid();
+    }
+
+    @Override
+    public Uni<Warehouse> findByBusinessUnitCode(String buCode) {
+        return client.preparedQuery("SELECT " + SELECT_COLUMNS + " FROM warehouse WHERE activeBusinessUnitCode = $1")
+                .execute(Tuple.of(buCode))
+                .map(ReactiveWarehouseRepository::firstOrNull);
+    }
+
+    @Override
+    public Uni<Boolean> existsByBusinessUnitCode(String buCode) {
+        return client.preparedQuery("SELECT 1 FROM warehouse WHERE activeBusinessUnitCode = $1")
+                .execute(Tuple.of(buCode))
+                .map(rows -> rows.size() > 0);
+    }
+
+    // the lock is taken in its own statement so the totals read after it see everything committed before it was granted
+    private static Uni<Void> lockLocation(SqlConnection connection, Warehouse warehouse, Consumer<WarehouseCreationCheck> checks) {
+        return connection.preparedQuery(LOCK_LOCATION)
+                .execute(Tuple.of(warehouse.getLocation()))
+                .chain(() -> connection.preparedQuery(CREATION_CHECK).execute(Tuple.of(warehouse.getBusinessUnitCode(), warehouse.getLocation())))
+                .invoke(rows -> {
+                    Row row = rows.iterator().next();
+                    checks.accept(new WarehouseCreationCheck(
+                            row.getBoolean("taken"),
+                            row.getInteger("warehouses") == null ? 0 : row.getInteger("warehouses"),
+                            row.getLong("capacity") == null ? 0 : row.getLong("capacity")));
+                })
+                .replaceWithVoid();
+    }
+
+    private static List<Warehouse> toWarehouses(RowSet<Row> rows) {
+        List<Warehouse> warehouses = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            warehouses.add(WarehouseMapper.mapToWarehouse(row));
+        }
+        return warehouses;
+    }
+
+    private static Warehouse firstOrNull(RowSet<Row> rows) {
+        RowIterator<Row> iterator = rows.iterator();
+        return iterator.hasNext() ? WarehouseMapper.mapToWarehouse(iterator.next()) : null;
+    }
+
+    private static void requireUpdated(RowSet<Row> rows, Long id) {
+        if (rows.rowCount() == 0) {
+            throw new WarehouseNotFoundException("Warehouse not found with id: " + id);
+        }
+    }
+
+    private static Tuple insertTuple(Warehouse warehouse) {
+        return Tuple.from(new Object[] {
+                warehouse.getBusinessUnitCode(),
+                warehouse.getLocation(),
+                warehouse.getCapacity(),
+                warehouse.getStock(),
+                toLocalDateTime(warehouse.getCreationAt()),
+                toLocalDateTime(warehouse.getArchivedAt())});
+    }
+
+    private static LocalDateTime toLocalDateTime(ZonedDateTime dateTime) {
+        return dateTime == null ? null : dateTime.toLocalDateTime();
+    }
+}
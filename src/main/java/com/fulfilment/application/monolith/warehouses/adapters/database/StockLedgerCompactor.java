@@ -0,0 +1,44 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManagerFactory;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+/**
+ * Periodically folds the stock movement ledger into the stored warehouse stock, one bounded transaction at a
+ * time until the ledger is drained. Readers add the pending movements themselves, so compaction only keeps the
+ * ledger short and never changes the stock they see.
+ */
+@ApplicationScoped
+public class StockLedgerCompactor {
+
+    private static final Logger LOG = Logger.getLogger(StockLedgerCompactor.class);
+
+    @Inject
+    StockLedgerRepository stockLedgerRepository;
+
+    @Inject
+    EntityManagerFactory entityManagerFactory;
+
+    @ConfigProperty(name = "warehouse.stock-ledger.compact-batch-size")
+    int batchSize;
+
+    @Scheduled(every = "${warehouse.stock-ledger.compact-interval}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void compact() {
+        long folded = 0;
+        StockLedgerRepository.Compaction compaction;
+        do {
+            compaction = stockLedgerRepository.compact(batchSize);
+            // the stock was changed behind Hibernate's back, cached copies of those warehouses are stale now
+            compaction.warehouseIds().forEach(id -> entityManagerFactory.getCache().evict(DbWarehouse.class, id));
+            folded += compaction.movements();
+        } while (compaction.movements() >= batchSize);
+
+        if (folded > 0) {
+            LOG.infof("Folded %d stock movements into warehouse stock", folded);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import com.fulfilment.application.monolith.etag.VersionRegistry;
+import com.fulfilment.application.monolith.exception.WarehouseValidationException;
+import com.fulfilment.application.monolith.metrics.TimedOperation;
+import com.fulfilment.application.monolith.warehouses.domain.models.StockMovement;
+import com.fulfilment.application.monolith.warehouses.domain.ports.StockLedger;
+import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@ApplicationScoped
+public class StockLedgerRepository implements StockLedger, PanacheRepository<DbStockMovement> {
+
+    // first key of the per-warehouse advisory locks taken by append, next to the location locks of WarehouseRepository
+    private static final int STOCK_LOCK_NAMESPACE = 0x57480002;
+
+    @Inject
+    VersionRegistry versionRegistry;
+
+    @ConfigProperty(name = "quarkus.hibernate-orm.jdbc.statement-batch-size", defaultValue = "50")
+    int batchSize;
+
+    @Override
+    @TimedOperation
+    @Transactional
+    public void append(List<StockMovement> movements) {
+        // sorted, so appends sharing warehouses take their locks in the same order
+        Map<Long, Integer> deltas = new TreeMap<>();
+        movements.forEach(movement -> deltas.merge(movement.warehouseId(), movement.delta(), Integer::sum));
+
+        // appends to the same warehouse wait for each other, so two of them can't both pass the bounds check below.
+        // Only appends take this lock: the warehouse row stays free for updates and compaction
+        deltas.keySet().forEach(warehouseId -> getEntityManager()
+                .createNativeQuery("select 1 from pg_advisory_xact_lock(" + STOCK_LOCK_NAMESPACE + ", hashtext(cast(?1 as text)))")
+                .setParameter(1, warehouseId)
+                .getSingleResult());
+        Map<Long, Object[]> active = new HashMap<>();
+        for (Object row : getEntityManager()
+                .createNativeQuery("select w.id, w.capacity, w.stock"
+                        + " + coalesce((select sum(m.delta) from warehouse_stock_movement m where m.warehouseId = w.id), 0)"
+                        + " from warehouse w where w.id in (?1) and w.archivedAt is null")
+                .setParameter(1, deltas.keySet())
+                .getResultList()) {
+            Object[] columns = (Object[]) row;
+            active.put(((Number) columns[0]).longValue(), columns);
+        }
+
+        List<Long> inactiveIds = deltas.keySet().stream().filter(id -> !active.containsKey(id)).toList();
+        if (!inactiveIds.isEmpty()) {
+            throw new WarehouseValidationException("Stock can only move in active warehouses, unknown or archived: " + inactiveIds);
+        }
+        deltas.forEach((warehouseId, delta) -> {
+            long capacity = ((Number) active.get(warehouseId)[1]).longValue();
+            long stock = ((Number) active.get(warehouseId)[2]).longValue() + delta;
+            if (stock < 0 || stock > capacity) {
+                throw new WarehouseValidationException("Stock movements would take the stock of warehouse " + warehouseId
+                        + " to " + stock + ", outside 0 to its capacity (" + capacity + ")");
+            }
+        });
+
+        // warehouse reads include pending movements, so appending changes what they return
+        versionRegistry.bump(VersionRegistry.Table.WAREHOUSE);
+        LocalDateTime now = LocalDateTime.now();
+        for (int index = 0; index < movements.size(); index++) {
+            StockMovement movement = movements.get(index);
+            persist(new DbStockMovement(movement.warehouseId(), movement.delta(), now));
+            // flush a full JDBC batch at a time and drop it from the persistence context
+            if ((index + 1) % batchSize == 0) {
+                flush();
+                getEntityManager().clear();
+            }
+        }
+    }
+
+    @Override
+    @TimedOperation
+    public Map<Long, Integer> pendingDeltas(Collection<Long> warehouseIds) {
+        if (warehouseIds.isEmpty()) {
+            return Map.of();
+        }
+        return toDeltas(getEntityManager()
+                .createQuery("select m.warehouseId, sum(m.delta) from DbStockMovement m where m.warehouseId in :ids group by m.warehouseId",
+                        Object[].class)
+                .setParameter("ids", warehouseIds)
+                .getResultList());
+    }
+
+    private static Map<Long, Integer> toDeltas(List<Object[]> rows) {
+        Map<Long, Integer> deltas = new HashMap<>();
+        rows.forEach(row -> deltas.put((Long) row[0], ((Number) row[1]).intValue()));
+        return deltas;
+    }
+
+    /**
+     * Folds up to {@code limit} of the oldest movements into the warehouse stock. The movements are deleted and
+     * applied by one statement, so a movement committed while compaction runs is either folded or left for the next
+     * run, never lost or applied twice. Concurrent compactors skip each other's rows. The warehouse version is left
+     * alone: the stock readers see does not change, so a caller holding the previous version must not conflict.
+     *
+     * @return the ids of the warehouses whose stock changed and how many movements were folded
+     */
+    @Transactional
+    public Compaction compact(int limit) {
+        List<?> rows = getEntityManager()
+                .createNativeQuery("with moved as ("
+                        + " delete from warehouse_stock_movement where id in ("
+                        + "  select id from warehouse_stock_movement order by id limit ?1 for update skip locked)"
+                        + " returning warehouseId, delta),"
+                        + " totals as (select warehouseId, sum(delta) as delta, count(*) as movements from moved group by warehouseId)"
+                        + " update warehouse w set stock = w.stock + totals.delta"
+                        + " from totals where w.id = totals.warehouseId"
+                        + " returning w.id, totals.movements")
+                .setParameter(1, limit)
+                .getResultList();
+
+        List<Long> warehouseIds = rows.stream().map(row -> ((Number) ((Object[]) row)[0]).longValue()).toList();
+        long movements = rows.stream().mapToLong(row -> ((Number) ((Object[]) row)[1]).longValue()).sum();
+        return new Compaction(warehouseIds, movements);
+    }
+
+    public record Compaction(List<Long> warehouseIds, long movements) {}
+}
@@ -0,0 +1,111 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fulfilment.application.monolith.concurrency.DatabaseBound;
+import com.fulfilment.application.monolith.metrics.TimedOperation;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.Query;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes every row of the warehouse table, archived and replaced ones included, as gzip compressed NDJSON. Rows
+ * come through a forward-only server-side cursor and are written as they arrive, so memory use does not depend on
+ * the size of the table. The export runs in a read-only repeatable read transaction: it sees one consistent
+ * snapshot and, PostgreSQL being MVCC, takes no lock that writers would wait for.
+ */
+@ApplicationScoped
+public class WarehouseExporter {
+
+    private static final Logger LOG = Logger.getLogger(WarehouseExporter.class);
+
+    private static final int FETCH_SIZE = 500;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public WarehouseExporter(EntityManager entityManager, ObjectMapper objectMapper) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    // bound here rather than on the resource: the body is written after the resource method has returned
+    @DatabaseBound
+    @TimedOperation
+    @Transactional
+    public long export(WritableByteChannel channel) throws IOException {
+        Session session = entityManager.unwrap(Session.class);
+        // must be the first statement of the transaction to take effect; run on the connection itself, as a native
+        // executeUpdate would make Hibernate invalidate every second-level cache region
+        session.doWork(connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET TRANSACTION ISOLATION LEVEL REPEATABLE READ, READ ONLY");
+            }
+        });
+
+        // the stock includes the movements not yet compacted, read from the same snapshot
+        Query<Object[]> query = session.createQuery("select w, (select coalesce(sum(m.delta), 0) from DbStockMovement m where m.warehouseId = w.id)"
+                        + " from DbWarehouse w order by w.id", Object[].class)
+                .setReadOnly(true)
+                .setFetchSize(FETCH_SIZE)
+                .setCacheable(false);
+
+        long rows = 0;
+        // closing the stream writes the gzip trailer and closes the channel
+        try (OutputStream out = new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+             ScrollableResults<Object[]> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            generator.setRootValueSeparator(null);
+            while (results.next()) {
+                Object[] row = results.get();
+                write(generator, (DbWarehouse) row[0], ((Number) row[1]).intValue());
+                // entities are dropped as soon as they are written, the persistence context stays empty
+                session.detach(row[0]);
+                rows++;
+            }
+        }
+        LOG.infof("Exported %d warehouse rows", rows);
+        return rows;
+    }
+
+    private static void write(JsonGenerator generator, DbWarehouse warehouse, int pendingStock) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", warehouse.getId());
+        generator.writeStringField("businessUnitCode", warehouse.getBusinessUnitCode());
+        generator.writeStringField("location", warehouse.getLocation());
+        writeNumber(generator, "capacity", warehouse.getCapacity());
+        writeNumber(generator, "stock", warehouse.getStock() == null ? null : warehouse.getStock() + pendingStock);
+        writeTimestamp(generator, "createdAt", warehouse.getCreatedAt());
+        writeTimestamp(generator, "archivedAt", warehouse.getArchivedAt());
+        generator.writeNumberField("version", warehouse.getVersion());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static void writeNumber(JsonGenerator generator, String field, Integer value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeNumberField(field, value);
+        }
+    }
+
+    private static void writeTimestamp(JsonGenerator generator, String field, LocalDateTime value) throws IOException {
+        generator.writeStringField(field, value == null ? null : value.toString());
+    }
+}
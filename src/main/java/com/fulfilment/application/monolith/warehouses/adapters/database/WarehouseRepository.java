@@ -1,19 +1,55 @@
 package com.fulfilment.application.monolith.warehouses.adapters.database;
 
+import com.fulfilment.application.monolith.concurrency.DatabaseBound;
+import com.fulfilment.application.monolith.etag.VersionRegistry;
+import com.fulfilment.application.monolith.exception.WarehouseConflictException;
 import com.fulfilment.application.monolith.exception.WarehouseNotFoundException;
 import com.fulfilment.application.monolith.exception.WarehousePersistenceException;
+import com.fulfilment.application.monolith.exception.WarehouseValidationException;
 import com.fulfilment.application.monolith.mapper.WarehouseMapper;
+import com.fulfilment.application.monolith.metrics.TimedOperation;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationTotals;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseCreationCheck;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseSearchCriteria;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseSearchCursor;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseSearchPage;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.OptimisticLockException;
 import jakarta.persistence.PersistenceException;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
 import jakarta.transaction.Transactional;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.hibernate.Cache;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.jpa.HibernateHints;
 import org.jboss.logging.Logger;
 
 import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static com.fulfilment.application.monolith.mapper.WarehouseMapper.mapToDBWarehouse;
 import static com.fulfilment.application.monolith.mapper.WarehouseMapper.mapToWarehouse;
@@ -23,20 +59,166 @@ public class WarehouseRepository implements WarehouseStore, PanacheRepository<Db
 
     private static final Logger LOG = Logger.getLogger(WarehouseRepository.class);
 
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    // first key of the location advisory locks, keeps them apart from any other advisory lock user
+    static final int LOCATION_LOCK_NAMESPACE = 0x57480001;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionSynchronizationRegistry;
+
+    @Inject
+    VersionRegistry versionRegistry;
+
+    @ConfigProperty(name = "quarkus.hibernate-orm.jdbc.statement-batch-size", defaultValue = "50")
+    int batchSize;
+
     @Override
+    @TimedOperation
     public List<Warehouse> getAllWarehouses() {
-        return listAll().stream().map(WarehouseMapper::mapToWarehouse).toList();
+        return getEntityManager()
+                .createQuery(WarehouseRow.SELECT + " order by w.id", WarehouseRow.class)
+                .getResultList()
+                .stream()
+                .map(WarehouseMapper::mapToWarehouse)
+                .toList();
+    }
+
+    @Override
+    @TimedOperation
+    public List<Warehouse> getWarehousesPage(Long afterId, int limit) {
+        return getEntityManager()
+                .createQuery(WarehouseRow.SELECT + " where w.id > :afterId order by w.id", WarehouseRow.class)
+                .setParameter("afterId", afterId == null ? 0L : afterId)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(WarehouseMapper::mapToWarehouse)
+                .toList();
+    }
+
+    @Override
+    @TimedOperation
+    public WarehouseSearchPage search(WarehouseSearchCriteria criteria) {
+        CriteriaBuilder cb = getEntityManager().getCriteriaBuilder();
+        CriteriaQuery<WarehouseRow> query = cb.createQuery(WarehouseRow.class);
+        Root<DbWarehouse> warehouse = query.from(DbWarehouse.class);
+        Expression<Long> id = warehouse.get("id");
+        Expression<Integer> capacity = warehouse.get("capacity");
+        // filters, order and cursor use the stock readers see: the stored stock plus the movements still in the ledger
+        Subquery<Integer> pending = query.subquery(Integer.class);
+        Root<DbStockMovement> movement = pending.from(DbStockMovement.class);
+        pending.select(cb.toInteger(cb.coalesce(cb.sumAsLong(movement.get("delta")), 0L)))
+                .where(cb.equal(movement.get("warehouseId"), id));
+        Expression<Integer> stock = cb.sum(warehouse.<Integer>get("stock"), pending);
+        Expression<Integer> freeCapacity = cb.diff(capacity, stock);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (criteria.location() != null) {
+            predicates.add(cb.equal(warehouse.get("location"), criteria.location()));
+        }
+        switch (criteria.status()) {
+            case ACTIVE -> predicates.add(cb.isNull(warehouse.get("archivedAt")));
+            case ARCHIVED -> predicates.add(cb.isNotNull(warehouse.get("archivedAt")));
+            case ALL -> {
+            }
+        }
+        addRange(cb, predicates, capacity, criteria.minCapacity(), criteria.maxCapacity());
+        addRange(cb, predicates, stock, criteria.minStock(), criteria.maxStock());
+        addRange(cb, predicates, freeCapacity, criteria.minFreeCapacity(), null);
+
+        Expression<? extends Number> sortKey = switch (criteria.sort()) {
+            case ID -> id;
+            case CAPACITY -> capacity;
+            case STOCK -> stock;
+            case FREE_CAPACITY -> freeCapacity;
+        };
+        WarehouseSearchCursor after = criteria.after();
+        if (after != null) {
+            predicates.add(criteria.sort() == WarehouseSearchCriteria.SortField.ID
+                    ? (criteria.descending() ? cb.lt(id, after.id()) : cb.gt(id, after.id()))
+                    : afterCursor(cb, sortKey, id, after, criteria.descending()));
+        }
+
+        query.select(cb.construct(WarehouseRow.class, id, warehouse.get("businessUnitCode"), warehouse.get("location"),
+                        capacity, stock, warehouse.get("createdAt"), warehouse.get("archivedAt"), warehouse.get("version")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(criteria.descending()
+                        ? List.of(cb.desc(sortKey), cb.desc(id))
+                        : List.of(cb.asc(sortKey), cb.asc(id)));
+
+        // one row more than the page tells whether another page follows without a count query
+        List<WarehouseRow> rows = getEntityManager().createQuery(query)
+                .setMaxResults(criteria.limit() + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > criteria.limit();
+        List<WarehouseRow> page = hasNext ? rows.subList(0, criteria.limit()) : rows;
+
+        WarehouseSearchCursor next = null;
+        if (hasNext) {
+            WarehouseRow last = page.get(page.size() - 1);
+            next = new WarehouseSearchCursor(switch (criteria.sort()) {
+                case ID -> last.id();
+                case CAPACITY -> last.capacity();
+                case STOCK -> last.stock();
+                case FREE_CAPACITY -> last.capacity() - last.stock();
+            }, last.id());
+        }
+        return new WarehouseSearchPage(page.stream().map(WarehouseMapper::mapToWarehouse).toList(), next);
+    }
+
+    private static void addRange(CriteriaBuilder cb, List<Predicate> predicates, Expression<Integer> value, Integer min, Integer max) {
+        if (min != null) {
+            predicates.add(cb.ge(value, min));
+        }
+        if (max != null) {
+            predicates.add(cb.le(value, max));
+        }
+    }
+
+    // (sortKey, id) strictly after the cursor. The redundant bound on the sort key alone lets the planner start the
+    // index scan at the cursor instead of filtering every row before it
+    private static Predicate afterCursor(CriteriaBuilder cb, Expression<? extends Number> sortKey, Expression<Long> id,
+                                         WarehouseSearchCursor after, boolean descending) {
+        if (descending) {
+            return cb.and(cb.le(sortKey, after.sortValue()),
+                    cb.or(cb.lt(sortKey, after.sortValue()), cb.and(cb.equal(sortKey, after.sortValue()), cb.lt(id, after.id()))));
+        }
+        return cb.and(cb.ge(sortKey, after.sortValue()),
+                cb.or(cb.gt(sortKey, after.sortValue()), cb.and(cb.equal(sortKey, after.sortValue()), cb.gt(id, after.id()))));
     }
 
     @Override
+    @DatabaseBound
+    @TimedOperation
+    @Transactional
+    public void streamAllWarehouses(Consumer<Warehouse> consumer) {
+        // the PostgreSQL driver only honours the fetch size inside a transaction, so rows arrive through a
+        // server-side cursor; projected rows never enter the persistence context, so it stays empty
+        try (Stream<WarehouseRow> rows = getEntityManager()
+                .createQuery(WarehouseRow.SELECT + " order by w.id", WarehouseRow.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream()) {
+            rows.forEach(row -> consumer.accept(mapToWarehouse(row)));
+        }
+    }
+
+    @Override
+    @TimedOperation
     @Transactional
     public Warehouse create(Warehouse warehouse) {
+        // takes effect at commit, a rolled back write leaves the ETags alone
+        versionRegistry.bump(VersionRegistry.Table.WAREHOUSE);
         try {
             DbWarehouse entity = mapToDBWarehouse(warehouse);
-            persist(entity);
+            // flushed right away so a code taken concurrently at another location fails here, not at commit
+            persistAndFlush(entity);
             warehouse.setWareHouseId(entity.getId());
             return warehouse;
         } catch (PersistenceException e) {
+            if (isConstraintViolation(e)) {
+                throw new WarehouseValidationException("Warehouse with businessUnitCode '" + warehouse.getBusinessUnitCode() + "' already exists");
+            }
             LOG.error("Failed to create warehouse", e);
             throw new WarehousePersistenceException("Unable to create warehouse");
 
@@ -44,81 +226,201 @@ public class WarehouseRepository implements WarehouseStore, PanacheRepository<Db
     }
 
     @Override
+    @TimedOperation
     @Transactional
-    public void update(Warehouse warehouse) {
+    public List<Warehouse> createAll(List<Warehouse> warehouses) {
+        versionRegistry.bump(VersionRegistry.Table.WAREHOUSE);
         try {
-            if (warehouse.getBusinessUnitCode() == null) {
-                throw new IllegalArgumentException("Warehouse ID must not be null");
-            }
-
-            DbWarehouse entity = findById(warehouse.getWareHouseId());
-
-            if (entity == null) {
-                throw new WarehouseNotFoundException("Warehouse not found with id: " + warehouse.getWareHouseId());
+            for (int index = 0; index < warehouses.size(); index++) {
+                Warehouse warehouse = warehouses.get(index);
+                DbWarehouse entity = mapToDBWarehouse(warehouse);
+                persist(entity);
+                warehouse.setWareHouseId(entity.getId());
+                // flush a full JDBC batch at a time and drop it from the persistence context
+                if ((index + 1) % batchSize == 0) {
+                    flush();
+                    getEntityManager().clear();
+                }
             }
+            return warehouses;
+        } catch (PersistenceException e) {
+            LOG.error("Failed to create warehouses in batch", e);
+            throw new WarehousePersistenceException("Unable to create " + warehouses.size() + " warehouses");
+        }
+    }
 
-            entity.setBusinessUnitCode(warehouse.getBusinessUnitCode());
-            entity.setLocation(warehouse.getLocation());
-            entity.setCapacity(warehouse.getCapacity());
-            entity.setStock(warehouse.getStock());
-            if (warehouse.getCreationAt() != null) {
-                entity.setCreatedAt(LocalDateTime.from(warehouse.getCreationAt()));
-            }
+    @Override
+    @TimedOperation
+    @Transactional
+    public void update(Warehouse warehouse) {
+        versionRegistry.bump(VersionRegistry.Table.WAREHOUSE);
+        if (warehouse.getWareHouseId() == null || warehouse.getVersion() == null) {
+            throw new IllegalArgumentException("Warehouse ID and version must not be null");
+        }
 
-            if (warehouse.getArchivedAt() != null) {
-                entity.setArchivedAt(LocalDateTime.from(warehouse.getArchivedAt()));
-            }
+        // a single statement instead of load, copy and dirty check: it only applies on top of the version the caller
+        // read, and hands back the previous active code so the natural id cache is only evicted when it changed
+        LocalDateTime archivedAt = warehouse.getArchivedAt() == null ? null : LocalDateTime.from(warehouse.getArchivedAt());
+        StringBuilder sql = new StringBuilder()
+                .append("with previous as (select id, activeBusinessUnitCode from warehouse where id = :id) ")
+                .append("update warehouse w set businessUnitCode = :buCode, location = :location, capacity = :capacity, ")
+                // the caller sets the stock it sees, which includes the movements still in the ledger
+                .append("stock = :stock - coalesce((select sum(m.delta) from warehouse_stock_movement m where m.warehouseId = w.id), 0), ")
+                .append("version = w.version + 1");
+        if (warehouse.getCreationAt() != null) {
+            sql.append(", createdAt = :createdAt");
+        }
+        sql.append(archivedAt != null
+                ? ", archivedAt = :archivedAt, activeBusinessUnitCode = null"
+                : ", activeBusinessUnitCode = case when w.archivedAt is null then :buCode end");
+        sql.append(" from previous where w.id = previous.id and w.version = :version")
+                .append(" returning previous.activeBusinessUnitCode as previousCode, w.activeBusinessUnitCode");
 
-        } catch (EntityNotFoundException e) {
-            LOG.warn(e.getMessage());
-            throw e;
+        Query query = getEntityManager().createNativeQuery(sql.toString())
+                .setParameter("id", warehouse.getWareHouseId())
+                .setParameter("buCode", warehouse.getBusinessUnitCode())
+                .setParameter("location", warehouse.getLocation())
+                .setParameter("capacity", warehouse.getCapacity())
+                .setParameter("stock", warehouse.getStock())
+                .setParameter("version", warehouse.getVersion());
+        if (warehouse.getCreationAt() != null) {
+            query.setParameter("createdAt", LocalDateTime.from(warehouse.getCreationAt()));
+        }
+        if (archivedAt != null) {
+            query.setParameter("archivedAt", archivedAt);
+        }
 
+        List<?> rows;
+        try {
+            rows = query.getResultList();
         } catch (PersistenceException e) {
             LOG.error("Failed to update warehouse", e);
             throw new WarehousePersistenceException("Unable to update warehouse with id: " + warehouse.getWareHouseId());
-
-        } catch (Exception e) {
-            LOG.error("Unexpected error during warehouse update");
-            throw new WarehousePersistenceException("Unexpected error while updating warehouse");
         }
+        if (rows.isEmpty()) {
+            throw new WarehouseConflictException("Warehouse with id " + warehouse.getWareHouseId()
+                    + " was changed or removed since version " + warehouse.getVersion() + " was read");
+        }
+
+        Object[] row = (Object[]) rows.get(0);
+        evictCachedState(warehouse.getWareHouseId(), !Objects.equals(row[0], row[1]));
+        warehouse.setVersion(warehouse.getVersion() + 1);
     }
 
-    @Override
-    public Warehouse findByWarehouseId(String id) {
+    // the update bypassed the persistence context, so drop what the second-level cache holds for the warehouse now
+    // and again once the transaction is over, in case a concurrent reader cached the old state in between
+    private void evictCachedState(Long id, boolean naturalIdChanged) {
+        Cache cache = getEntityManager().getEntityManagerFactory().getCache().unwrap(Cache.class);
+        Runnable evict = () -> {
+            cache.evictEntityData(DbWarehouse.class, id);
+            if (naturalIdChanged) {
+                cache.evictNaturalIdData(DbWarehouse.class);
+            }
+        };
+        evict.run();
+        transactionSynchronizationRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {}
 
-        DbWarehouse entity = findById(Long.getLong(id));
+            @Override
+            public void afterCompletion(int status) {
+                evict.run();
+            }
+        });
+    }
 
-        if (entity == null) {
-            throw new WarehouseNotFoundException("Warehouse not found with id: " + id);
+    @Override
+    @TimedOperation
+    @Transactional
+    public Warehouse replace(Warehouse current, Warehouse successor) {
+        versionRegistry.bump(VersionRegistry.Table.WAREHOUSE);
+        // the current row stays for history: one bulk UPDATE keyed on the active code archives it without loading it
+        // again, and only if nobody changed it since it was validated
+        int archived = update("archivedAt = ?1, activeBusinessUnitCode = null, version = version + 1"
+                        + " where activeBusinessUnitCode = ?2 and version = ?3",
+                LocalDateTime.now(), current.getBusinessUnitCode(), current.getVersion());
+        if (archived == 0) {
+            throw new WarehouseConflictException("Warehouse with businessUnitCode '" + current.getBusinessUnitCode()
+                    + "' was changed, archived or replaced since version " + current.getVersion() + " was read");
+        }
+
+        successor.setWareHouseId(null);
+        successor.setVersion(null);
+        successor.setArchivedAt(null);
+        if (successor.getCreationAt() == null) {
+            successor.setCreationAt(ZonedDateTime.now());
+        }
+        try {
+            DbWarehouse entity = mapToDBWarehouse(successor);
+            persistAndFlush(entity);
+            successor.setWareHouseId(entity.getId());
+            successor.setVersion(entity.getVersion());
+        } catch (PersistenceException e) {
+            LOG.error("Failed to insert replacement warehouse", e);
+            throw new WarehousePersistenceException("Unable to replace warehouse with businessUnitCode: " + current.getBusinessUnitCode());
         }
 
-        return mapToWarehouse(entity);
+        return successor;
+    }
+
+    @Override
+    @TimedOperation
+    public Warehouse findByWarehouseId(String id) {
+        return getEntityManager()
+                .createQuery(WarehouseRow.SELECT + " where w.id = :id", WarehouseRow.class)
+                .setParameter("id", parseId(id))
+                .getResultStream()
+                .findFirst()
+                .map(WarehouseMapper::mapToWarehouse)
+                .orElseThrow(() -> new WarehouseNotFoundException("Warehouse not found with id: " + id));
     }
 
     @Override
+    @TimedOperation
     @Transactional
     public void archive(String id) {
-        DbWarehouse entity = findById(Long.getLong(id));
+        versionRegistry.bump(VersionRegistry.Table.WAREHOUSE);
+        DbWarehouse entity = findById(parseId(id));
 
         if (entity == null) {
             throw new WarehouseNotFoundException("Warehouse not found with id: " + id);
         }
         entity.setArchivedAt(LocalDateTime.now());
+        try {
+            // the versioned UPDATE runs here rather than at commit so a concurrent change surfaces as a conflict
+            flush();
+        } catch (OptimisticLockException e) {
+            throw new WarehouseConflictException("Warehouse with id " + id + " was changed while it was being archived");
+        }
+    }
+
+    // an id that is not a number can't name a warehouse, so it is reported like any other unknown id
+    private static Long parseId(String id) {
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            throw new WarehouseNotFoundException("Warehouse not found with id: " + id);
+        }
     }
 
     @Override
+    @TimedOperation
+    @Transactional
     public void remove(Warehouse warehouse) {
+        versionRegistry.bump(VersionRegistry.Table.WAREHOUSE);
         try {
             if (warehouse.getWareHouseId() == null) {
                 throw new IllegalArgumentException("Warehouse ID must not be null");
             }
 
-            boolean deleted = deleteById(warehouse.getWareHouseId());
+            DbWarehouse entity = findById(warehouse.getWareHouseId());
 
-            if (!deleted) {
+            if (entity == null) {
                 throw new WarehouseNotFoundException("Warehouse not found with id: " + warehouse.getWareHouseId());
             }
 
+            delete(entity);
+
         } catch (EntityNotFoundException e) {
             LOG.warn(e.getMessage());
             throw e;
@@ -134,17 +436,123 @@ public class WarehouseRepository implements WarehouseStore, PanacheRepository<Db
     }
 
     @Override
+    @TimedOperation
     public Warehouse findByBusinessUnitCode(String buCode) {
-        return find("businessUnitCode", buCode).firstResultOptional().map(WarehouseMapper::mapToWarehouse).orElse(null);
+        if (buCode == null) {
+            return null;
+        }
+        return getEntityManager()
+                .createQuery(WarehouseRow.SELECT + " where w.activeBusinessUnitCode = :buCode", WarehouseRow.class)
+                .setParameter("buCode", buCode)
+                .getResultStream()
+                .findFirst()
+                .map(WarehouseMapper::mapToWarehouse)
+                .orElse(null);
     }
 
     @Override
+    @TimedOperation
     public boolean existsByBusinessUnitCode(String buCode) {
-        return find("businessUnitCode", buCode).firstResultOptional().isPresent();
+        return findActiveByBusinessUnitCode(buCode).isPresent();
     }
 
     @Override
+    @TimedOperation
+    public Set<String> findExistingBusinessUnitCodes(Collection<String> buCodes) {
+        if (buCodes.isEmpty()) {
+            return Set.of();
+        }
+        return Set.copyOf(getEntityManager()
+                .createQuery("select w.activeBusinessUnitCode from DbWarehouse w where w.activeBusinessUnitCode in :buCodes", String.class)
+                .setParameter("buCodes", buCodes)
+                .getResultList());
+    }
+
+    private static boolean isConstraintViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // resolved through the natural id cache, so repeated lookups of an active code skip the database entirely
+    private Optional<DbWarehouse> findActiveByBusinessUnitCode(String buCode) {
+        if (buCode == null) {
+            return Optional.empty();
+        }
+        return getEntityManager().unwrap(Session.class).bySimpleNaturalId(DbWarehouse.class).loadOptional(buCode);
+    }
+
+    @Override
+    @TimedOperation
     public int countByLocation(String locationId) {
-        return Math.toIntExact(count("location", locationId));
+        List<?> warehouses = getEntityManager()
+                .createNativeQuery("select warehouses from location_totals where location = ?1")
+                .setParameter(1, locationId)
+                .getResultList();
+        return warehouses.isEmpty() ? 0 : ((Number) warehouses.get(0)).intValue();
+    }
+
+    @Override
+    @TimedOperation
+    @Transactional(Transactional.TxType.MANDATORY)
+    public WarehouseCreationCheck lockLocationForCreation(String businessUnitCode, String locationId) {
+        lockLocation(locationId);
+
+        // the location totals are maintained by a trigger, so this is two primary key reads and a unique index probe
+        Object[] row = (Object[]) getEntityManager()
+                .createNativeQuery("select"
+                        + " (select t.warehouses from location_totals t where t.location = ?2),"
+                        + " (select t.capacity from location_totals t where t.location = ?2),"
+                        + " exists (select 1 from warehouse w where w.activeBusinessUnitCode = ?1)")
+                .setParameter(1, businessUnitCode)
+                .setParameter(2, locationId)
+                .getSingleResult();
+        return new WarehouseCreationCheck(
+                Boolean.TRUE.equals(row[2]),
+                row[0] == null ? 0 : ((Number) row[0]).intValue(),
+                row[1] == null ? 0 : ((Number) row[1]).longValue());
+    }
+
+    @Override
+    @TimedOperation
+    @Transactional(Transactional.TxType.MANDATORY)
+    public Map<String, LocationTotals> lockLocationsForCreation(Collection<String> locationIds) {
+        List<String> locations = locationIds.stream().distinct().sorted().toList();
+        if (locations.isEmpty()) {
+            return Map.of();
+        }
+        locations.forEach(this::lockLocation);
+
+        Map<String, LocationTotals> totals = new HashMap<>();
+        for (Object row : getEntityManager()
+                .createNativeQuery("select location, warehouses, capacity from location_totals where location in (?1)")
+                .setParameter(1, locations)
+                .getResultList()) {
+            Object[] columns = (Object[]) row;
+            totals.put((String) columns[0], new LocationTotals(((Number) columns[1]).intValue(), ((Number) columns[2]).longValue()));
+        }
+        return totals;
+    }
+
+    // transaction scoped advisory lock on the location: only creates at the same location wait for each other.
+    // It is taken in its own statement so totals read after it see everything committed before it was granted
+    private void lockLocation(String locationId) {
+        getEntityManager()
+                .createNativeQuery("select 1 from pg_advisory_xact_lock(" + LOCATION_LOCK_NAMESPACE + ", hashtext(?1))")
+                .setParameter(1, locationId)
+                .getSingleResult();
+    }
+
+    @Override
+    @TimedOperation
+    public long capacityByLocation(String locationId) {
+        List<?> capacity = getEntityManager()
+                .createNativeQuery("select capacity from location_totals where location = ?1")
+                .setParameter(1, locationId)
+                .getResultList();
+        return capacity.isEmpty() ? 0 : ((Number) capacity.get(0)).longValue();
     }
 }
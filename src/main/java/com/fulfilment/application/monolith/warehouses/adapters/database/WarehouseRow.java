@@ -0,0 +1,23 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import java.time.LocalDateTime;
+
+// read-only projection of a warehouse row. Reads select straight into it rather than into entities, so nothing
+// enters the persistence context: there are no snapshots to keep and nothing to dirty check at flush. The stock is
+// the stored stock plus the movements still waiting in the ledger, summed in the same statement so compaction
+// committing in between can't count a movement twice or drop it
+public record WarehouseRow(
+    Long id,
+    String businessUnitCode,
+    String location,
+    Integer capacity,
+    Integer stock,
+    LocalDateTime createdAt,
+    LocalDateTime archivedAt,
+    Long version) {
+
+  static final String SELECT = "select new " + WarehouseRow.class.getName()
+      + "(w.id, w.businessUnitCode, w.location, w.capacity,"
+      + " cast(w.stock + coalesce((select sum(m.delta) from DbStockMovement m where m.warehouseId = w.id), 0) as Integer),"
+      + " w.createdAt, w.archivedAt, w.version) from DbWarehouse w";
+}
@@ -0,0 +1,123 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.fulfilment.application.monolith.etag.ConditionalGet;
+import com.fulfilment.application.monolith.etag.VersionRegistry;
+import com.fulfilment.application.monolith.exception.WarehouseNotFoundException;
+import com.fulfilment.application.monolith.mapper.WarehouseMapper;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveArchiveWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveCreateWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import com.warehouse.api.beans.Warehouse;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import jakarta.validation.constraints.NotNull;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Response;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.fulfilment.application.monolith.mapper.WarehouseMapper.mapToWarehouse;
+import static com.fulfilment.application.monolith.mapper.WarehouseMapper.mapToWarehouseBean;
+
+/**
+ * Non-blocking implementation of the warehouse API, served instead of {@link WarehouseResourceImpl} when the
+ * application is built with {@code warehouse.persistence=reactive}. Requests stay on the event loop. Search, batch
+ * creation and stock movements are only implemented by the blocking resource and answer 501 here.
+ */
+@Path("/warehouse")
+@Produces("application/json")
+@Consumes("application/json")
+@IfBuildProperty(name = "warehouse.persistence", stringValue = "reactive")
+@ConditionalGet(VersionRegistry.Table.WAREHOUSE)
+public class ReactiveWarehouseResource {
+
+    private static final Logger LOG = Logger.getLogger(ReactiveWarehouseResource.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final ReactiveWarehouseStore warehouseStore;
+    private final ReactiveCreateWarehouseOperation createWarehouseOperation;
+    private final ReactiveArchiveWarehouseOperation archiveWarehouseOperation;
+
+    public ReactiveWarehouseResource(ReactiveWarehouseStore warehouseStore,
+                                     ReactiveCreateWarehouseOperation createWarehouseOperation,
+                                     ReactiveArchiveWarehouseOperation archiveWarehouseOperation) {
+        this.warehouseStore = warehouseStore;
+        this.createWarehouseOperation = createWarehouseOperation;
+        this.archiveWarehouseOperation = archiveWarehouseOperation;
+    }
+
+    @GET
+    public Uni<List<Warehouse>> listAllWarehousesUnits(@QueryParam("after") Long after, @QueryParam("limit") Integer limit) {
+        // without paging parameters clients keep getting the whole list, as from WarehouseResourceImpl
+        if (after == null && limit == null) {
+            return warehouseStore.getAllWarehouses()
+                    .map(warehouses -> warehouses.stream().map(WarehouseMapper::mapToWarehouseBean).toList());
+        }
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return warehouseStore.getWarehousesPage(after, pageSize)
+                .map(warehouses -> warehouses.stream().map(WarehouseMapper::mapToWarehouseBean).toList());
+    }
+
+    @POST
+    public Uni<Response> createANewWarehouseUnit(@NotNull Warehouse data) {
+        LOG.infof("Creating warehouse [businessUnitCode=%s]", data.getBusinessUnitCode());
+        return createWarehouseOperation.create(mapToWarehouse(data))
+                .map(created -> Response.status(201).entity(mapToWarehouseBean(created)).build());
+    }
+
+    @GET
+    @Path("/{id}")
+    public Uni<Warehouse> getAWarehouseUnitByID(@PathParam("id") String id) {
+        return findExisting(id).map(WarehouseMapper::mapToWarehouseBean);
+    }
+
+    @DELETE
+    @Path("/{id}")
+    public Uni<Void> archiveAWarehouseUnitByID(@PathParam("id") String id) {
+        return findExisting(id).chain(archiveWarehouseOperation::archive);
+    }
+
+    @GET
+    @Path("/search")
+    public Response searchWarehouseUnits() {
+        return notImplemented("GET /warehouse/search");
+    }
+
+    @POST
+    @Path("/batch")
+    public Response createWarehouseUnitsInBatch() {
+        return notImplemented("POST /warehouse/batch");
+    }
+
+    @POST
+    @Path("/stock-movements")
+    public Response recordStockMovements() {
+        return notImplemented("POST /warehouse/stock-movements");
+    }
+
+    private static Response notImplemented(String route) {
+        return Response.status(501)
+                .entity(Map.of("code", 501, "error", route + " is not available when built with warehouse.persistence=reactive"))
+                .build();
+    }
+
+    // an id that is not a number can't name a warehouse, so it is reported like any other unknown id
+    private Uni<com.fulfilment.application.monolith.warehouses.domain.models.Warehouse> findExisting(String id) {
+        return Uni.createFrom().item(() -> Long.valueOf(id))
+                .onFailure(NumberFormatException.class)
+                .transform(e -> new WarehouseNotFoundException("Warehouse not found with id: " + id))
+                .chain(warehouseStore::findByWarehouseId)
+                .onItem().ifNull().failWith(() -> new WarehouseNotFoundException("Warehouse not found with id: " + id));
+    }
+}
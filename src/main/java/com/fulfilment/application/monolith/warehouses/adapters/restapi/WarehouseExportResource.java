@@ -0,0 +1,38 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.fulfilment.application.monolith.warehouses.adapters.database.WarehouseExporter;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.jboss.logging.Logger;
+
+import java.nio.channels.Channels;
+
+@Path("warehouse/export")
+@Produces(WarehouseExportResource.GZIP)
+@RunOnVirtualThread
+public class WarehouseExportResource {
+
+    static final String GZIP = "application/gzip";
+
+    private static final Logger LOG = Logger.getLogger(WarehouseExportResource.class);
+
+    private final WarehouseExporter warehouseExporter;
+
+    public WarehouseExportResource(WarehouseExporter warehouseExporter) {
+        this.warehouseExporter = warehouseExporter;
+    }
+
+    // every warehouse row including archived ones, as gzip compressed NDJSON written while the rows are read
+    @GET
+    public Response exportAllWarehouses() {
+        LOG.info("Exporting the warehouse table");
+        StreamingOutput body = output -> warehouseExporter.export(Channels.newChannel(output));
+        return Response.ok(body)
+                .header("Content-Disposition", "attachment; filename=\"warehouses.ndjson.gz\"")
+                .build();
+    }
+}
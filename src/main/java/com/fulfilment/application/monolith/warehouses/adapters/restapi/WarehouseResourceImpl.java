@@ -2,12 +2,27 @@ package com.fulfilment.application.monolith.warehouses.adapters.restapi;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fulfilment.application.monolith.concurrency.DatabaseBound;
+import com.fulfilment.application.monolith.etag.ConditionalGet;
+import com.fulfilment.application.monolith.etag.VersionRegistry;
+import com.fulfilment.application.monolith.exception.WarehouseConflictException;
 import com.fulfilment.application.monolith.exception.WarehouseNotFoundException;
 import com.fulfilment.application.monolith.exception.WarehousePersistenceException;
+import com.fulfilment.application.monolith.exception.WarehouseValidationException;
 import com.fulfilment.application.monolith.mapper.WarehouseMapper;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseSearchCriteria;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseSearchCursor;
+import com.fulfilment.application.monolith.warehouses.domain.ports.BatchCreateWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.CreateWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.RecordStockMovementsOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import com.warehouse.api.WarehouseResource;
 import com.warehouse.api.beans.Warehouse;
+import com.warehouse.api.beans.WarehouseBatchResult;
+import com.warehouse.api.beans.WarehouseSearchResult;
+import com.warehouse.api.beans.WarehouseStockMovement;
+import io.quarkus.arc.properties.UnlessBuildProperty;
+import io.smallrye.common.annotation.RunOnVirtualThread;
 import jakarta.inject.Inject;
 import jakarta.validation.constraints.NotNull;
 import jakarta.ws.rs.core.Response;
@@ -20,24 +35,81 @@ import java.util.List;
 import static com.fulfilment.application.monolith.mapper.WarehouseMapper.mapToWarehouse;
 import static com.fulfilment.application.monolith.mapper.WarehouseMapper.mapToWarehouseBean;
 
+@UnlessBuildProperty(name = "warehouse.persistence", stringValue = "reactive", enableIfMissing = true)
+@RunOnVirtualThread
+@DatabaseBound
+@ConditionalGet(VersionRegistry.Table.WAREHOUSE)
 public class WarehouseResourceImpl implements WarehouseResource {
 
     private static final Logger LOG = Logger.getLogger(WarehouseResourceImpl.class);
 
-    private final WarehouseStore warehouseStore;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
 
-    public WarehouseResourceImpl(WarehouseStore warehouseStore) {
+    private final WarehouseStore warehouseStore;
+    private final CreateWarehouseOperation createWarehouseOperation;
+    private final BatchCreateWarehouseOperation batchCreateWarehouseOperation;
+    private final RecordStockMovementsOperation recordStockMovementsOperation;
+
+    public WarehouseResourceImpl(WarehouseStore warehouseStore,
+                                 CreateWarehouseOperation createWarehouseOperation,
+                                 BatchCreateWarehouseOperation batchCreateWarehouseOperation,
+                                 RecordStockMovementsOperation recordStockMovementsOperation) {
         this.warehouseStore = warehouseStore;
+        this.createWarehouseOperation = createWarehouseOperation;
+        this.batchCreateWarehouseOperation = batchCreateWarehouseOperation;
+        this.recordStockMovementsOperation = recordStockMovementsOperation;
+    }
+
+    @Override
+    public List<Warehouse> listAllWarehousesUnits(Long after, Integer limit) {
+        // without paging parameters clients keep getting the whole list, as before paging was added
+        if (after == null && limit == null) {
+            return warehouseStore.getAllWarehouses().stream().map(WarehouseMapper::mapToWarehouseBean).toList();
+        }
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        return warehouseStore.getWarehousesPage(after, pageSize).stream().map(WarehouseMapper::mapToWarehouseBean).toList();
     }
 
     @Override
-    public List<Warehouse> listAllWarehousesUnits() {
-        return warehouseStore.getAllWarehouses().stream().map(WarehouseMapper::mapToWarehouseBean).toList();
+    public WarehouseSearchResult searchWarehouseUnits(String location, String status, Integer minCapacity, Integer maxCapacity,
+                                                      Integer minStock, Integer maxStock, Integer minFreeCapacity, String sort,
+                                                      String direction, String after, Integer limit) {
+        WarehouseSearchCriteria criteria = WarehouseSearchCriteria.builder()
+                .location(location)
+                .status(WarehouseMapper.mapToSearchStatus(status))
+                .minCapacity(minCapacity)
+                .maxCapacity(maxCapacity)
+                .minStock(minStock)
+                .maxStock(maxStock)
+                .minFreeCapacity(minFreeCapacity)
+                .sort(WarehouseMapper.mapToSearchSortField(sort))
+                .descending(WarehouseMapper.isDescending(direction))
+                .after(after == null ? null : WarehouseSearchCursor.decode(after))
+                .limit(limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE))
+                .build();
+        return WarehouseMapper.mapToWarehouseSearchResultBean(warehouseStore.search(criteria));
     }
 
     @Override
     public Warehouse createANewWarehouseUnit(@NotNull Warehouse data) {
-        return mapToWarehouseBean(warehouseStore.create(mapToWarehouse(data)));
+        com.fulfilment.application.monolith.warehouses.domain.models.Warehouse warehouse = mapToWarehouse(data);
+        createWarehouseOperation.create(warehouse);
+        return mapToWarehouseBean(warehouse);
+    }
+
+    @Override
+    public List<WarehouseBatchResult> createWarehouseUnitsInBatch(@NotNull List<Warehouse> data) {
+        LOG.infof("Creating %d warehouses in batch", data.size());
+        return batchCreateWarehouseOperation.createAll(data.stream().map(WarehouseMapper::mapToWarehouse).toList())
+                .stream()
+                .map(WarehouseMapper::mapToWarehouseBatchResultBean)
+                .toList();
+    }
+
+    @Override
+    public void recordStockMovements(@NotNull List<WarehouseStockMovement> data) {
+        recordStockMovementsOperation.record(data.stream().map(WarehouseMapper::mapToStockMovement).toList());
     }
 
     @Override
@@ -63,6 +135,8 @@ public class WarehouseResourceImpl implements WarehouseResource {
             int code = switch (exception) {
                 case WarehousePersistenceException e -> 503;
                 case WarehouseNotFoundException e -> 400;
+                case WarehouseValidationException e -> 400;
+                case WarehouseConflictException e -> 409;
                 default -> 500;
             };
 
@@ -0,0 +1,54 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import static com.fulfilment.application.monolith.mapper.WarehouseMapper.mapToWarehouseBean;
+
+@Path("warehouse/stream")
+@Produces(WarehouseStreamResource.NDJSON)
+@RunOnVirtualThread
+public class WarehouseStreamResource {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private static final Logger LOG = Logger.getLogger(WarehouseStreamResource.class);
+
+    private final WarehouseStore warehouseStore;
+    private final ObjectMapper objectMapper;
+
+    public WarehouseStreamResource(WarehouseStore warehouseStore, ObjectMapper objectMapper) {
+        this.warehouseStore = warehouseStore;
+        this.objectMapper = objectMapper;
+    }
+
+    @GET
+    public StreamingOutput streamAllWarehousesUnits() {
+        LOG.info("Streaming all warehouse units");
+        return output -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(output)) {
+                warehouseStore.streamAllWarehouses(warehouse -> {
+                    try {
+                        writer.write(mapToWarehouseBean(warehouse));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+    }
+}
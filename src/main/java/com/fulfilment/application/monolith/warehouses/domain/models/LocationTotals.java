@@ -0,0 +1,4 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+// number and summed capacity of the active warehouses at one location
+public record LocationTotals(int activeWarehouses, long capacity) {}
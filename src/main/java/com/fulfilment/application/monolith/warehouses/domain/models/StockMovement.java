@@ -0,0 +1,4 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+// a signed change to the stock of one warehouse: positive for goods coming in, negative for goods going out
+public record StockMovement(Long warehouseId, int delta) {}
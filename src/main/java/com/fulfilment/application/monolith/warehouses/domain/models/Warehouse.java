@@ -26,4 +26,7 @@ public class Warehouse {
   private ZonedDateTime creationAt;
 
   private ZonedDateTime archivedAt;
+
+  // version the warehouse was read at; an update based on an older version is rejected as a conflict
+  private Long version;
 }
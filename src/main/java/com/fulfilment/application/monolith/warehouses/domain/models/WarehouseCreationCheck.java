@@ -0,0 +1,4 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+// what the create rules need to know from the store, read while creates at the location are serialized
+public record WarehouseCreationCheck(boolean businessUnitCodeExists, int activeWarehousesAtLocation, long capacityAtLocation) {}
@@ -0,0 +1,9 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+// outcome of one warehouse of a batch creation; error is only set when the warehouse was rejected
+public record WarehouseCreationResult(int index, Warehouse warehouse, String error) {
+
+  public boolean isCreated() {
+    return error == null;
+  }
+}
@@ -0,0 +1,33 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+import lombok.Builder;
+
+// every filter is optional; stock and free capacity (capacity - stock) include the movements still in the stock
+// ledger, as in every read
+@Builder
+public record WarehouseSearchCriteria(
+    String location,
+    Status status,
+    Integer minCapacity,
+    Integer maxCapacity,
+    Integer minStock,
+    Integer maxStock,
+    Integer minFreeCapacity,
+    SortField sort,
+    boolean descending,
+    WarehouseSearchCursor after,
+    int limit) {
+
+  public enum Status {
+    ACTIVE,
+    ARCHIVED,
+    ALL
+  }
+
+  public enum SortField {
+    ID,
+    CAPACITY,
+    STOCK,
+    FREE_CAPACITY
+  }
+}
@@ -0,0 +1,20 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+import com.fulfilment.application.monolith.exception.WarehouseValidationException;
+
+// position after the last warehouse of a search page: its sort value and id, the id breaking ties
+public record WarehouseSearchCursor(long sortValue, long id) {
+
+  public String encode() {
+    return sortValue + "_" + id;
+  }
+
+  public static WarehouseSearchCursor decode(String cursor) {
+    int separator = cursor.indexOf('_');
+    try {
+      return new WarehouseSearchCursor(Long.parseLong(cursor.substring(0, separator)), Long.parseLong(cursor.substring(separator + 1)));
+    } catch (NumberFormatException | IndexOutOfBoundsException e) {
+      throw new WarehouseValidationException("Invalid search cursor: " + cursor);
+    }
+  }
+}
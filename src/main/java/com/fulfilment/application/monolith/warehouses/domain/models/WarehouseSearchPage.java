@@ -0,0 +1,7 @@
+package com.fulfilment.application.monolith.warehouses.domain.models;
+
+import java.util.List;
+
+// next is null on the last page
+public record WarehouseSearchPage(List<Warehouse> warehouses, WarehouseSearchCursor next) {
+}
@@ -0,0 +1,33 @@
+package com.fulfilment.application.monolith.warehouses.domain.ports;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseCreationCheck;
+import io.smallrye.mutiny.Uni;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+// non-blocking counterpart of WarehouseStore; lookups emit null when nothing matches
+public interface ReactiveWarehouseStore {
+
+  Uni<List<Warehouse>> getAllWarehouses();
+
+  Uni<List<Warehouse>> getWarehousesPage(Long afterId, int limit);
+
+  // in one transaction: locks the warehouse's location like WarehouseStore.lockLocationForCreation, passes what it
+  // read to checks, which throws to reject the warehouse, and inserts it
+  Uni<Warehouse> create(Warehouse warehouse, Consumer<WarehouseCreationCheck> checks);
+
+  Uni<Void> update(Warehouse warehouse);
+
+  // the same for a replacement: the successor's location is locked and checked before current is archived
+  Uni<Warehouse> replace(Warehouse current, Warehouse successor, Consumer<WarehouseCreationCheck> checks);
+
+  Uni<Warehouse> findByWarehouseId(Long id);
+
+  Uni<Void> archive(Long id);
+
+  Uni<Warehouse> findByBusinessUnitCode(String buCode);
+
+  Uni<Boolean> existsByBusinessUnitCode(String businessUnitCode);
+}
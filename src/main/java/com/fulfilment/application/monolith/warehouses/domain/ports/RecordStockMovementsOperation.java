@@ -0,0 +1,9 @@
+package com.fulfilment.application.monolith.warehouses.domain.ports;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.StockMovement;
+
+import java.util.List;
+
+public interface RecordStockMovementsOperation {
+  void record(List<StockMovement> movements);
+}
@@ -0,0 +1,17 @@
+package com.fulfilment.application.monolith.warehouses.domain.ports;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.StockMovement;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface StockLedger {
+
+  // appends the movements in one transaction without touching the warehouse rows; movements for unknown or
+  // archived warehouses reject the whole batch
+  void append(List<StockMovement> movements);
+
+  // sum of the movements not yet folded into the stored stock, only for warehouses that have any
+  Map<Long, Integer> pendingDeltas(Collection<Long> warehouseIds);
+}
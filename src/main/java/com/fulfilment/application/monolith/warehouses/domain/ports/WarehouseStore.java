@@ -1,17 +1,43 @@
 package com.fulfilment.application.monolith.warehouses.domain.ports;
 
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationTotals;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseCreationCheck;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseSearchCriteria;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseSearchPage;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface WarehouseStore {
 
   List<Warehouse> getAllWarehouses();
 
+  // keyset page ordered by id: warehouses with an id greater than afterId (null for the first page)
+  List<Warehouse> getWarehousesPage(Long afterId, int limit);
+
+  // one keyset page of the warehouses matching the criteria, in the criteria's sort order with the id breaking ties
+  WarehouseSearchPage search(WarehouseSearchCriteria criteria);
+
+  // pushes every warehouse to the consumer as it is read, without materializing the whole table
+  void streamAllWarehouses(Consumer<Warehouse> consumer);
+
   Warehouse create(Warehouse warehouse);
 
+  // persists all warehouses in a single transaction using JDBC batching
+  List<Warehouse> createAll(List<Warehouse> warehouses);
+
+  // a single conditional write against warehouse.getVersion(), throws WarehouseConflictException when the
+  // warehouse was changed or removed since that version was read
   void update(Warehouse warehouse);
 
+  // archives the active warehouse with current's business unit code, provided it is still at current's version, and
+  // inserts the successor under the same code in the same transaction; returns the successor with its new id
+  Warehouse replace(Warehouse current, Warehouse successor);
+
   Warehouse findByWarehouseId(String id);
 
   void archive(String id);
@@ -22,5 +48,18 @@ public interface WarehouseStore {
 
   boolean existsByBusinessUnitCode(String businessUnitCode);
 
+  Set<String> findExistingBusinessUnitCodes(Collection<String> businessUnitCodes);
+
   int countByLocation(String locationId);
+
+  // summed capacity of the active warehouses at the location
+  long capacityByLocation(String locationId);
+
+  // blocks other creates at the location until the caller's transaction ends, then reads whether the code is
+  // taken and the location's active warehouse count and capacity in a single query; requires an active transaction
+  WarehouseCreationCheck lockLocationForCreation(String businessUnitCode, String locationId);
+
+  // the same lock for every given location, taken in a fixed order so batches sharing locations can't deadlock,
+  // then the totals of those locations; a location without active warehouses is left out of the map
+  Map<String, LocationTotals> lockLocationsForCreation(Collection<String> locationIds);
 }
@@ -1,5 +1,6 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
+import com.fulfilment.application.monolith.metrics.TimedOperation;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ArchiveWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
@@ -7,6 +8,7 @@ import com.fulfilment.application.monolith.warehouses.validation.WarehouseValida
 import jakarta.enterprise.context.ApplicationScoped;
 
 @ApplicationScoped
+@TimedOperation
 public class ArchiveWarehouseUseCase implements ArchiveWarehouseOperation {
 
     private final WarehouseStore warehouseStore;
@@ -19,8 +21,12 @@ public class ArchiveWarehouseUseCase implements ArchiveWarehouseOperation {
 
     @Override
     public void archive(Warehouse warehouse) {
-        validator.validateForArchiveWarehouse(warehouse);
+        Warehouse existing = validator.validateForArchiveWarehouse(warehouse);
 
+        warehouse.setWareHouseId(existing.getWareHouseId());
+        if (warehouse.getVersion() == null) {
+            warehouse.setVersion(existing.getVersion());
+        }
         warehouseStore.update(warehouse);
     }
 }
@@ -0,0 +1,51 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.metrics.TimedOperation;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseCreationResult;
+import com.fulfilment.application.monolith.warehouses.domain.ports.BatchCreateWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import com.fulfilment.application.monolith.warehouses.validation.WarehouseValidator;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@ApplicationScoped
+@TimedOperation
+public class BatchCreateWarehouseUseCase implements BatchCreateWarehouseOperation {
+
+    private final WarehouseStore warehouseStore;
+    private final WarehouseValidator validator;
+
+    public BatchCreateWarehouseUseCase(WarehouseStore warehouseStore, WarehouseValidator validator) {
+        this.warehouseStore = warehouseStore;
+        this.validator = validator;
+    }
+
+    @Override
+    @Transactional
+    public List<WarehouseCreationResult> createAll(List<Warehouse> warehouses) {
+        // validation and insert share one transaction, so the batch's locations stay locked until its rows are visible
+        Map<Integer, String> rejections = validator.validateForBatchCreateWarehouses(warehouses);
+
+        List<Warehouse> accepted = new ArrayList<>(warehouses.size() - rejections.size());
+        for (int index = 0; index < warehouses.size(); index++) {
+            if (!rejections.containsKey(index)) {
+                accepted.add(warehouses.get(index));
+            }
+        }
+        // only the warehouses that passed validation are written
+        if (!accepted.isEmpty()) {
+            warehouseStore.createAll(accepted);
+        }
+
+        List<WarehouseCreationResult> results = new ArrayList<>(warehouses.size());
+        for (int index = 0; index < warehouses.size(); index++) {
+            results.add(new WarehouseCreationResult(index, warehouses.get(index), rejections.get(index)));
+        }
+        return results;
+    }
+}
@@ -1,12 +1,15 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
+import com.fulfilment.application.monolith.metrics.TimedOperation;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.CreateWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import com.fulfilment.application.monolith.warehouses.validation.WarehouseValidator;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
 
 @ApplicationScoped
+@TimedOperation
 public class CreateWarehouseUseCase implements CreateWarehouseOperation {
 
     private final WarehouseStore warehouseStore;
@@ -18,7 +21,9 @@ public class CreateWarehouseUseCase implements CreateWarehouseOperation {
     }
 
     @Override
+    @Transactional
     public void create(Warehouse warehouse) {
+        // validation and insert share one transaction, so the location stays locked until the new row is visible
         validator.validateForCreateWarehouse(warehouse);
         // if all went well, create the warehouse
         warehouseStore.create(warehouse);
@@ -0,0 +1,27 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveArchiveWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import com.fulfilment.application.monolith.warehouses.validation.WarehouseRules;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class ReactiveArchiveWarehouseUseCase implements ReactiveArchiveWarehouseOperation {
+
+    private final ReactiveWarehouseStore warehouseStore;
+
+    public ReactiveArchiveWarehouseUseCase(ReactiveWarehouseStore warehouseStore) {
+        this.warehouseStore = warehouseStore;
+    }
+
+    // archives the row the caller loaded by id; looking it up again by its code would find the active successor of a
+    // replaced warehouse
+    @Override
+    public Uni<Void> archive(Warehouse warehouse) {
+        return Uni.createFrom().item(warehouse)
+                .invoke(WarehouseRules::requireArchivable)
+                .chain(existing -> warehouseStore.archive(existing.getWareHouseId()));
+    }
+}
@@ -0,0 +1,43 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveCreateWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.requireCapacityAndStockWithinLimits;
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.requireCapacityAvailableAtLocation;
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.requireNewBusinessUnitCode;
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.requireRoomAtLocation;
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.requireValidLocation;
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.useRegisteredLocation;
+
+@ApplicationScoped
+public class ReactiveCreateWarehouseUseCase implements ReactiveCreateWarehouseOperation {
+
+    private final ReactiveWarehouseStore warehouseStore;
+    private final LocationResolver locationResolver;
+
+    public ReactiveCreateWarehouseUseCase(ReactiveWarehouseStore warehouseStore, LocationResolver locationResolver) {
+        this.warehouseStore = warehouseStore;
+        this.locationResolver = locationResolver;
+    }
+
+    @Override
+    public Uni<Warehouse> create(Warehouse warehouse) {
+        return Uni.createFrom().item(() -> locationResolver.resolveByIdentifier(warehouse.getLocation()))
+                .invoke(location -> {
+                    requireValidLocation(warehouse, location);
+                    useRegisteredLocation(warehouse, location);
+                })
+                // the checks run while the location is locked, in the transaction that inserts the warehouse
+                .chain(location -> warehouseStore.create(warehouse, check -> {
+                    requireNewBusinessUnitCode(warehouse, check.businessUnitCodeExists());
+                    requireRoomAtLocation(location, check.activeWarehousesAtLocation());
+                    requireCapacityAndStockWithinLimits(warehouse, location);
+                    requireCapacityAvailableAtLocation(warehouse, location, check.capacityAtLocation());
+                }));
+    }
+}
@@ -0,0 +1,45 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveReplaceWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.requireCapacityAvailableForReplacement;
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.requireExistingForReplacement;
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.requireReplacementKeepsStock;
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.requireValidLocation;
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.useRegisteredLocation;
+
+@ApplicationScoped
+public class ReactiveReplaceWarehouseUseCase implements ReactiveReplaceWarehouseOperation {
+
+    private final ReactiveWarehouseStore warehouseStore;
+    private final LocationResolver locationResolver;
+
+    public ReactiveReplaceWarehouseUseCase(ReactiveWarehouseStore warehouseStore, LocationResolver locationResolver) {
+        this.warehouseStore = warehouseStore;
+        this.locationResolver = locationResolver;
+    }
+
+    @Override
+    public Uni<Void> replace(Warehouse newWarehouse) {
+        return warehouseStore.findByBusinessUnitCode(newWarehouse.getBusinessUnitCode())
+                .chain(existing -> {
+                    requireExistingForReplacement(newWarehouse, existing);
+                    Location location = locationResolver.resolveByIdentifier(newWarehouse.getLocation());
+                    requireValidLocation(newWarehouse, location);
+                    useRegisteredLocation(newWarehouse, location);
+                    requireReplacementKeepsStock(newWarehouse, existing);
+                    if (newWarehouse.getVersion() != null) {
+                        existing.setVersion(newWarehouse.getVersion());
+                    }
+                    return warehouseStore.replace(existing, newWarehouse,
+                            check -> requireCapacityAvailableForReplacement(newWarehouse, existing, location, check.capacityAtLocation()));
+                })
+                .replaceWithVoid();
+    }
+}
@@ -0,0 +1,38 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.exception.WarehouseValidationException;
+import com.fulfilment.application.monolith.metrics.TimedOperation;
+import com.fulfilment.application.monolith.warehouses.domain.models.StockMovement;
+import com.fulfilment.application.monolith.warehouses.domain.ports.RecordStockMovementsOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.StockLedger;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.List;
+
+@ApplicationScoped
+@TimedOperation
+public class RecordStockMovementsUseCase implements RecordStockMovementsOperation {
+
+    private final StockLedger stockLedger;
+
+    public RecordStockMovementsUseCase(StockLedger stockLedger) {
+        this.stockLedger = stockLedger;
+    }
+
+    @Override
+    public void record(List<StockMovement> movements) {
+        if (movements.isEmpty()) {
+            throw new WarehouseValidationException("At least one stock movement is required");
+        }
+        for (StockMovement movement : movements) {
+            if (movement.warehouseId() == null) {
+                throw new WarehouseValidationException("Stock movement warehouseId is required");
+            }
+            if (movement.delta() == 0) {
+                throw new WarehouseValidationException("Stock movement for warehouse " + movement.warehouseId() + " must change the stock");
+            }
+        }
+        // the movements are only appended, the stored stock catches up when the ledger is compacted
+        stockLedger.append(movements);
+    }
+}
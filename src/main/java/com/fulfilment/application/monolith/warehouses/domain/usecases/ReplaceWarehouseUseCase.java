@@ -1,13 +1,16 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
+import com.fulfilment.application.monolith.metrics.TimedOperation;
 import com.fulfilment.application.monolith.exception.WarehouseNotFoundException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 import com.fulfilment.application.monolith.warehouses.domain.ports.ReplaceWarehouseOperation;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import com.fulfilment.application.monolith.warehouses.validation.WarehouseValidator;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
 
 @ApplicationScoped
+@TimedOperation
 public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
 
     private final WarehouseStore warehouseStore;
@@ -19,8 +22,14 @@ public class ReplaceWarehouseUseCase implements ReplaceWarehouseOperation {
     }
 
     @Override
+    @Transactional
     public void replace(Warehouse newWarehouse) {
-        validator.validateForReplaceWarehouse(newWarehouse);
-        warehouseStore.update(newWarehouse);
+        // the only read of the current warehouse, it is archived and the new one created as a single transaction
+        Warehouse existing = validator.validateForReplaceWarehouse(newWarehouse);
+        // unless the caller read a version itself, the archive is conditional on the one that was just validated
+        if (newWarehouse.getVersion() != null) {
+            existing.setVersion(newWarehouse.getVersion());
+        }
+        warehouseStore.replace(existing, newWarehouse);
     }
 }
@@ -1,14 +1,34 @@
 package com.fulfilment.application.monolith.warehouses.validation;
 
 import com.fulfilment.application.monolith.exception.InvalidLocationException;
-import com.fulfilment.application.monolith.exception.WarehouseNotFoundException;
 import com.fulfilment.application.monolith.exception.WarehouseValidationException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationTotals;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseCreationCheck;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import jakarta.enterprise.context.ApplicationScoped;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.requireArchivable;
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.requireCapacityAndStockWithinLimits;
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.requireCapacityAvailableAtLocation;
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.requireCapacityAvailableForReplacement;
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.requireExistingForReplacement;
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.requireNewBusinessUnitCode;
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.requireReplacementKeepsStock;
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.requireRoomAtLocation;
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.requireValidLocation;
+import static com.fulfilment.application.monolith.warehouses.validation.WarehouseRules.useRegisteredLocation;
+
 @ApplicationScoped
 public class DefaultWarehouseValidator implements WarehouseValidator {
 
@@ -23,58 +43,107 @@ public class DefaultWarehouseValidator implements WarehouseValidator {
     @Override
     public void validateForCreateWarehouse(Warehouse warehouse) {
         Location location = locationResolver.resolveByIdentifier(warehouse.getLocation());
-        if (warehouseStore.existsByBusinessUnitCode(warehouse.getBusinessUnitCode())) {
-            throw new WarehouseValidationException("Warehouse with businessUnitCode '" + warehouse.getBusinessUnitCode() + "' already exists");
-        }
         if (location == null || location.identification == null) {
-            throw new InvalidLocationException("Invalid warehouse location: " + warehouse.getLocation());
+            // nothing to lock, report the failures in the usual order
+            requireNewBusinessUnitCode(warehouse, warehouseStore.existsByBusinessUnitCode(warehouse.getBusinessUnitCode()));
+            requireValidLocation(warehouse, location);
         }
-        int existingCount = warehouseStore.countByLocation(location.identification);
-        if (existingCount >= location.maxNumberOfWarehouses) {
-            throw new WarehouseValidationException("Cannot create new warehouse at location '" + location.identification + "'. Maximum number of warehouses reached.");
-        }
-        if (warehouse.getCapacity() > location.maxCapacity) {
-            throw new WarehouseValidationException("Warehouse capacity (" + warehouse.getCapacity() + ") exceeds max capacity for location (" + location.maxCapacity + ")");
+        useRegisteredLocation(warehouse, location);
+        WarehouseCreationCheck check = warehouseStore.lockLocationForCreation(warehouse.getBusinessUnitCode(), location.identification);
+        requireNewBusinessUnitCode(warehouse, check.businessUnitCodeExists());
+        requireRoomAtLocation(location, check.activeWarehousesAtLocation());
+        requireCapacityAndStockWithinLimits(warehouse, location);
+        requireCapacityAvailableAtLocation(warehouse, location, check.capacityAtLocation());
+    }
+
+    @Override
+    public Map<Integer, String> validateForBatchCreateWarehouses(List<Warehouse> warehouses) {
+        // every location is resolved once per batch, and all of them are locked before anything is read
+        Map<String, Location> locationsByIdentifier = new HashMap<>();
+        for (Warehouse warehouse : warehouses) {
+            if (!locationsByIdentifier.containsKey(warehouse.getLocation())) {
+                resolveLocation(warehouse.getLocation(), locationsByIdentifier);
+            }
         }
+        Map<String, LocationTotals> totalsByLocation = warehouseStore.lockLocationsForCreation(locationsByIdentifier.values().stream()
+                .filter(location -> location != null && location.identification != null)
+                .map(location -> location.identification)
+                .collect(Collectors.toSet()));
+
+        Set<String> existingCodes = warehouseStore.findExistingBusinessUnitCodes(warehouses.stream()
+                .map(Warehouse::getBusinessUnitCode)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+
+        // the stored totals, tracked as warehouses of this batch get accepted
+        Map<String, Integer> countsByLocation = new HashMap<>();
+        Map<String, Long> capacitiesByLocation = new HashMap<>();
+        totalsByLocation.forEach((identification, totals) -> {
+            countsByLocation.put(identification, totals.activeWarehouses());
+            capacitiesByLocation.put(identification, totals.capacity());
+        });
+        Set<String> acceptedCodes = new HashSet<>();
+        Map<Integer, String> rejections = new HashMap<>();
+
+        for (int index = 0; index < warehouses.size(); index++) {
+            Warehouse warehouse = warehouses.get(index);
+            try {
+                String businessUnitCode = warehouse.getBusinessUnitCode();
+                if (businessUnitCode == null) {
+                    throw new WarehouseValidationException("Warehouse businessUnitCode is required");
+                }
+                requireNewBusinessUnitCode(warehouse, existingCodes.contains(businessUnitCode) || acceptedCodes.contains(businessUnitCode));
+
+                Location location = locationsByIdentifier.get(warehouse.getLocation());
+                requireValidLocation(warehouse, location);
+                useRegisteredLocation(warehouse, location);
+                int existingCount = countsByLocation.getOrDefault(location.identification, 0);
+                requireRoomAtLocation(location, existingCount);
+                requireCapacityAndStockWithinLimits(warehouse, location);
+                long capacityInUse = capacitiesByLocation.getOrDefault(location.identification, 0L);
+                requireCapacityAvailableAtLocation(warehouse, location, capacityInUse);
 
-        if (warehouse.getStock() > warehouse.getCapacity()) {
-            throw new WarehouseValidationException("Warehouse stock (" + warehouse.getStock() + ") cannot exceed its capacity (" + warehouse.getCapacity() + ")");
+                acceptedCodes.add(businessUnitCode);
+                countsByLocation.put(location.identification, existingCount + 1);
+                capacitiesByLocation.put(location.identification, capacityInUse + warehouse.getCapacity());
+            } catch (WarehouseValidationException | InvalidLocationException e) {
+                rejections.put(index, e.getMessage());
+            }
         }
+        return rejections;
     }
 
+    private void resolveLocation(String identifier, Map<String, Location> locationsByIdentifier) {
+        Location location;
+        try {
+            location = locationResolver.resolveByIdentifier(identifier);
+        } catch (InvalidLocationException e) {
+            location = null;
+        }
+        locationsByIdentifier.put(identifier, location);
+    }
 
     @Override
-    public void validateForReplaceWarehouse(Warehouse newWarehouse) {
+    public Warehouse validateForReplaceWarehouse(Warehouse newWarehouse) {
 
         Warehouse existing = warehouseStore.findByBusinessUnitCode(newWarehouse.getBusinessUnitCode());
-        if (existing == null) {
-            throw new WarehouseNotFoundException("Warehouse with businessUnitCode '" + newWarehouse.getBusinessUnitCode() + "' does not exist");
-        }
+        requireExistingForReplacement(newWarehouse, existing);
 
         Location location = locationResolver.resolveByIdentifier(newWarehouse.getLocation());
-        if (location == null || location.identification == null) {
-            throw new InvalidLocationException("Invalid warehouse location: " + newWarehouse.getLocation());
-        }
+        requireValidLocation(newWarehouse, location);
+        useRegisteredLocation(newWarehouse, location);
 
-        if (newWarehouse.getCapacity() < existing.getStock()) {
-            throw new WarehouseValidationException("New warehouse capacity (" + newWarehouse.getCapacity() + ") cannot accommodate existing stock (" + existing.getStock() + ")");
-        }
+        requireReplacementKeepsStock(newWarehouse, existing);
 
-        if (!newWarehouse.getStock().equals(existing.getStock())) {
-            throw new WarehouseValidationException("New warehouse stock (" + newWarehouse.getStock() + ") must match existing warehouse stock (" + existing.getStock() + ")");
-        }
+        WarehouseCreationCheck check = warehouseStore.lockLocationForCreation(newWarehouse.getBusinessUnitCode(), location.identification);
+        requireCapacityAvailableForReplacement(newWarehouse, existing, location, check.capacityAtLocation());
+        return existing;
     }
 
     @Override
-    public void validateForArchiveWarehouse(Warehouse warehouse) {
+    public Warehouse validateForArchiveWarehouse(Warehouse warehouse) {
         Warehouse existing = warehouseStore.findByBusinessUnitCode(warehouse.getBusinessUnitCode());
-
-        if (existing == null) {
-            throw new WarehouseNotFoundException("Warehouse does not exist");
-        }
-
-        if (existing.getArchivedAt() != null) {
-            throw new WarehouseValidationException("Warehouse is already archived");
-        }
+        requireArchivable(existing);
+        return existing;
     }
 }
@@ -0,0 +1,96 @@
+package com.fulfilment.application.monolith.warehouses.validation;
+
+import com.fulfilment.application.monolith.exception.InvalidLocationException;
+import com.fulfilment.application.monolith.exception.WarehouseNotFoundException;
+import com.fulfilment.application.monolith.exception.WarehouseValidationException;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+
+/**
+ * The individual warehouse business rules, free of any data access so the blocking and the reactive use cases
+ * enforce exactly the same checks with the same messages.
+ */
+public final class WarehouseRules {
+
+    private WarehouseRules() {}
+
+    public static void requireNewBusinessUnitCode(Warehouse warehouse, boolean alreadyExists) {
+        if (alreadyExists) {
+            throw new WarehouseValidationException("Warehouse with businessUnitCode '" + warehouse.getBusinessUnitCode() + "' already exists");
+        }
+    }
+
+    public static void requireValidLocation(Warehouse warehouse, Location location) {
+        if (location == null || location.identification == null) {
+            throw new InvalidLocationException("Invalid warehouse location: " + warehouse.getLocation());
+        }
+    }
+
+    // locations are looked up regardless of case, the warehouse is stored under the registry's spelling so the
+    // location lock and location_totals see a single key per location
+    public static void useRegisteredLocation(Warehouse warehouse, Location location) {
+        warehouse.setLocation(location.identification);
+    }
+
+    public static void requireRoomAtLocation(Location location, long existingCount) {
+        if (existingCount >= location.maxNumberOfWarehouses) {
+            throw new WarehouseValidationException("Cannot create new warehouse at location '" + location.identification + "'. Maximum number of warehouses reached.");
+        }
+    }
+
+    public static void requireCapacityAndStockWithinLimits(Warehouse warehouse, Location location) {
+        if (warehouse.getCapacity() == null || warehouse.getStock() == null) {
+            throw new WarehouseValidationException("Warehouse capacity and stock are required");
+        }
+        if (warehouse.getCapacity() > location.maxCapacity) {
+            throw new WarehouseValidationException("Warehouse capacity (" + warehouse.getCapacity() + ") exceeds max capacity for location (" + location.maxCapacity + ")");
+        }
+
+        if (warehouse.getStock() > warehouse.getCapacity()) {
+            throw new WarehouseValidationException("Warehouse stock (" + warehouse.getStock() + ") cannot exceed its capacity (" + warehouse.getCapacity() + ")");
+        }
+    }
+
+    // capacityInUse is the summed capacity of the other active warehouses at the location
+    public static void requireCapacityAvailableAtLocation(Warehouse warehouse, Location location, long capacityInUse) {
+        if (capacityInUse + warehouse.getCapacity() > location.maxCapacity) {
+            throw new WarehouseValidationException("Warehouse capacity (" + warehouse.getCapacity() + ") exceeds the capacity left at location '"
+                    + location.identification + "' (" + Math.max(0, location.maxCapacity - capacityInUse) + " of " + location.maxCapacity + ")");
+        }
+    }
+
+    // the warehouse being replaced stops counting against its location once it is archived
+    public static void requireCapacityAvailableForReplacement(Warehouse newWarehouse, Warehouse existing, Location location, long capacityAtLocation) {
+        long capacityInUse = capacityAtLocation;
+        if (existing.getArchivedAt() == null && location.identification.equalsIgnoreCase(existing.getLocation()) && existing.getCapacity() != null) {
+            capacityInUse -= existing.getCapacity();
+        }
+        requireCapacityAvailableAtLocation(newWarehouse, location, capacityInUse);
+    }
+
+    public static void requireExistingForReplacement(Warehouse newWarehouse, Warehouse existing) {
+        if (existing == null) {
+            throw new WarehouseNotFoundException("Warehouse with businessUnitCode '" + newWarehouse.getBusinessUnitCode() + "' does not exist");
+        }
+    }
+
+    public static void requireReplacementKeepsStock(Warehouse newWarehouse, Warehouse existing) {
+        if (newWarehouse.getCapacity() < existing.getStock()) {
+            throw new WarehouseValidationException("New warehouse capacity (" + newWarehouse.getCapacity() + ") cannot accommodate existing stock (" + existing.getStock() + ")");
+        }
+
+        if (!newWarehouse.getStock().equals(existing.getStock())) {
+            throw new WarehouseValidationException("New warehouse stock (" + newWarehouse.getStock() + ") must match existing warehouse stock (" + existing.getStock() + ")");
+        }
+    }
+
+    public static void requireArchivable(Warehouse existing) {
+        if (existing == null) {
+            throw new WarehouseNotFoundException("Warehouse does not exist");
+        }
+
+        if (existing.getArchivedAt() != null) {
+            throw new WarehouseValidationException("Warehouse is already archived");
+        }
+    }
+}
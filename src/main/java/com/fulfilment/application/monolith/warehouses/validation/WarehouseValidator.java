@@ -2,10 +2,20 @@ package com.fulfilment.application.monolith.warehouses.validation;
 
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
 
+import java.util.List;
+import java.util.Map;
+
 public interface WarehouseValidator {
+    // must run in the transaction that creates the warehouse: it holds the location's lock until commit
     void validateForCreateWarehouse(Warehouse warehouse);
 
-    void validateForReplaceWarehouse(Warehouse newWarehouse);
+    // returns the rejection reason of every invalid warehouse keyed by its index in the batch; like create it must run
+    // in the transaction that inserts the accepted warehouses, it holds the locks of all their locations until commit
+    Map<Integer, String> validateForBatchCreateWarehouses(List<Warehouse> warehouses);
+
+    // both return the stored warehouse the checks ran against, so the write can be made conditional on its version;
+    // replace also locks the new location like create does
+    Warehouse validateForReplaceWarehouse(Warehouse newWarehouse);
 
-    void validateForArchiveWarehouse(Warehouse warehouse);
+    Warehouse validateForArchiveWarehouse(Warehouse warehouse);
 }
@@ -0,0 +1,53 @@
+CREATE SEQUENCE store_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE product_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE warehouse_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE store_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE store (
+    id                      BIGINT       NOT NULL PRIMARY KEY,
+    name                    VARCHAR(40)  UNIQUE,
+    quantityProductsInStock INTEGER      NOT NULL
+);
+
+CREATE TABLE product (
+    id          BIGINT         NOT NULL PRIMARY KEY,
+    name        VARCHAR(40)    UNIQUE,
+    description VARCHAR(255),
+    price       NUMERIC(10, 2),
+    stock       INTEGER        NOT NULL
+);
+
+CREATE TABLE warehouse (
+    id                     BIGINT       NOT NULL PRIMARY KEY,
+    businessUnitCode       VARCHAR(255),
+    activeBusinessUnitCode VARCHAR(255),
+    location               VARCHAR(255),
+    capacity               INTEGER,
+    stock                  INTEGER,
+    createdAt              TIMESTAMP(6),
+    archivedAt             TIMESTAMP(6),
+    -- the natural id column mirrors the business unit code exactly while the warehouse is active
+    CONSTRAINT warehouse_active_business_unit_code_check CHECK (
+        (archivedAt IS NULL AND activeBusinessUnitCode = businessUnitCode)
+            OR (archivedAt IS NOT NULL AND activeBusinessUnitCode IS NULL))
+);
+
+-- at most one active warehouse per business unit code; archived predecessors keep the code for history.
+-- Serves findByBusinessUnitCode, existsByBusinessUnitCode and the batch existence check
+CREATE UNIQUE INDEX warehouse_active_business_unit_code_idx ON warehouse (activeBusinessUnitCode);
+
+-- countByLocation and the per-location occupancy reconciliation
+CREATE INDEX warehouse_location_archived_at_idx ON warehouse (location, archivedAt);
+
+CREATE TABLE store_outbox (
+    id            BIGINT        NOT NULL PRIMARY KEY,
+    storeId       BIGINT        NOT NULL,
+    type          VARCHAR(10)   NOT NULL CHECK (type IN ('CREATED', 'UPDATED')),
+    createdAt     TIMESTAMP(6)  NOT NULL,
+    nextAttemptAt TIMESTAMP(6)  NOT NULL,
+    attempts      INTEGER       NOT NULL,
+    lastError     VARCHAR(1000)
+);
+
+-- the dispatcher polls for due messages in this order
+CREATE INDEX store_outbox_next_attempt_at_idx ON store_outbox (nextAttemptAt, id);
@@ -0,0 +1,2 @@
+-- optimistic locking: every write bumps the version and updates only apply to the version they were based on
+ALTER TABLE warehouse ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,33 @@
+-- number and summed capacity of the active warehouses per location, kept current by the trigger below in the same
+-- transaction as every warehouse write, so validation reads one row instead of aggregating the warehouse table
+CREATE TABLE location_totals (
+    location   VARCHAR(255) NOT NULL PRIMARY KEY,
+    warehouses INTEGER      NOT NULL,
+    capacity   BIGINT       NOT NULL
+);
+
+CREATE FUNCTION warehouse_location_totals() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.archivedAt IS NULL AND OLD.location IS NOT NULL THEN
+        UPDATE location_totals
+        SET warehouses = warehouses - 1, capacity = capacity - coalesce(OLD.capacity, 0)
+        WHERE location = OLD.location;
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.archivedAt IS NULL AND NEW.location IS NOT NULL THEN
+        INSERT INTO location_totals AS t (location, warehouses, capacity)
+        VALUES (NEW.location, 1, coalesce(NEW.capacity, 0))
+        ON CONFLICT (location) DO UPDATE SET warehouses = t.warehouses + 1, capacity = t.capacity + excluded.capacity;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER warehouse_location_totals
+    AFTER INSERT OR UPDATE OF location, capacity, archivedAt OR DELETE ON warehouse
+    FOR EACH ROW EXECUTE FUNCTION warehouse_location_totals();
+
+INSERT INTO location_totals (location, warehouses, capacity)
+SELECT location, count(*), coalesce(sum(capacity), 0)
+FROM warehouse
+WHERE archivedAt IS NULL AND location IS NOT NULL
+GROUP BY location;
@@ -0,0 +1,13 @@
+-- append-only ledger of signed stock changes; the compactor folds them into warehouse.stock and deletes them, so
+-- recording a movement never takes the warehouse row lock
+CREATE SEQUENCE warehouse_stock_movement_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE warehouse_stock_movement (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    warehouseId BIGINT       NOT NULL REFERENCES warehouse (id),
+    delta       INTEGER      NOT NULL,
+    recordedAt  TIMESTAMP(6) NOT NULL
+);
+
+-- pending deltas of a warehouse are summed on every read
+CREATE INDEX warehouse_stock_movement_warehouse_idx ON warehouse_stock_movement (warehouseId, delta);
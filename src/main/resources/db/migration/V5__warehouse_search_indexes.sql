@@ -0,0 +1,11 @@
+-- every write path requires capacity and stock, so keyset paging on them never has to deal with nulls
+UPDATE warehouse SET capacity = 0 WHERE capacity IS NULL;
+UPDATE warehouse SET stock = 0 WHERE stock IS NULL;
+ALTER TABLE warehouse ALTER COLUMN capacity SET NOT NULL;
+ALTER TABLE warehouse ALTER COLUMN stock SET NOT NULL;
+
+-- range filters and keyset pages of the warehouse search; archived history is the bulk of the table but is rarely
+-- searched, so only active warehouses are indexed. The id column breaks ties in the keyset order
+CREATE INDEX warehouse_active_capacity_idx ON warehouse (capacity, id) WHERE archivedAt IS NULL;
+CREATE INDEX warehouse_active_stock_idx ON warehouse (stock, id) WHERE archivedAt IS NULL;
+CREATE INDEX warehouse_active_free_capacity_idx ON warehouse ((capacity - stock), id) WHERE archivedAt IS NULL;
@@ -0,0 +1,5 @@
+-- movements still waiting to be folded belong to their warehouse: removing the warehouse drops them as well,
+-- rather than failing on the foreign key until the compactor has caught up
+ALTER TABLE warehouse_stock_movement DROP CONSTRAINT warehouse_stock_movement_warehouseid_fkey;
+ALTER TABLE warehouse_stock_movement
+    ADD CONSTRAINT warehouse_stock_movement_warehouseid_fkey FOREIGN KEY (warehouseId) REFERENCES warehouse (id) ON DELETE CASCADE;
@@ -0,0 +1,4 @@
+-- the warehouse search filters and sorts on the stored stock plus the pending ledger movements, which no index on
+-- the stored stock can answer; the capacity index stays
+DROP INDEX warehouse_active_stock_idx;
+DROP INDEX warehouse_active_free_capacity_idx;
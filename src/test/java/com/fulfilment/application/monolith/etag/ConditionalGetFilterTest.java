@@ -0,0 +1,40 @@
+package com.fulfilment.application.monolith.etag;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConditionalGetFilterTest {
+
+    private static final String ETAG = "\"1a2b3c4d-7\"";
+
+    @Test
+    public void testMatchingTagIsNotModified() {
+        //when
+        //then
+        assertTrue(ConditionalGetFilter.matches(ETAG, ETAG));
+    }
+
+    @Test
+    public void testAnyTagOfTheListMatches() {
+        //when
+        //then
+        assertTrue(ConditionalGetFilter.matches("\"1a2b3c4d-6\", " + ETAG, ETAG));
+    }
+
+    @Test
+    public void testWeakTagMatches() {
+        //when
+        //then
+        assertTrue(ConditionalGetFilter.matches("W/" + ETAG, ETAG));
+    }
+
+    @Test
+    public void testOlderTagOrMissingHeaderDoesNotMatch() {
+        //when
+        //then
+        assertFalse(ConditionalGetFilter.matches("\"1a2b3c4d-6\"", ETAG));
+        assertFalse(ConditionalGetFilter.matches(null, ETAG));
+    }
+}
@@ -0,0 +1,117 @@
+package com.fulfilment.application.monolith.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BulkImporterTest {
+
+    private final RecordingTarget target = new RecordingTarget();
+
+    @Test
+    public void testCsvRowsAreWrittenInChunks() throws IOException {
+        //given
+        BulkImporter importer = new BulkImporter(new ObjectMapper(), 2, 10);
+        String csv = "name,stock\nA,1\nB,2\n\nC,3\n";
+
+        //when
+        ImportReport report = importer.importRows(stream(csv), ImportFormat.CSV, target);
+
+        //then
+        assertEquals(List.of(List.of("A", "B"), List.of("C")), target.chunks);
+        assertEquals(new ImportReport(3, 3, 0, List.of()), report);
+    }
+
+    @Test
+    public void testRejectedRowsAreReportedByLine() throws IOException {
+        //given
+        BulkImporter importer = new BulkImporter(new ObjectMapper(), 10, 10);
+        target.rejectedNames.add("B");
+        String ndjson = "{\"name\":\"A\",\"stock\":1}\n{not json}\n{\"name\":\"B\",\"stock\":2}\n{\"name\":\"C\",\"stock\":\"many\"}\n";
+
+        //when
+        ImportReport report = importer.importRows(stream(ndjson), ImportFormat.NDJSON, target);
+
+        //then
+        assertEquals(4, report.rows());
+        assertEquals(1, report.imported());
+        assertEquals(3, report.rejected());
+        assertEquals(List.of(2L, 4L, 3L), report.errors().stream().map(ImportReport.RowError::line).toList());
+        assertEquals("B is rejected", report.errors().get(2).error());
+    }
+
+    @Test
+    public void testFailedChunkRejectsAllItsRowsAndImportContinues() throws IOException {
+        //given
+        BulkImporter importer = new BulkImporter(new ObjectMapper(), 2, 10);
+        target.failingChunk = 0;
+        String csv = "name,stock\nA,1\nB,2\nC,3\n";
+
+        //when
+        ImportReport report = importer.importRows(stream(csv), ImportFormat.CSV, target);
+
+        //then
+        assertEquals(1, report.imported());
+        assertEquals(2, report.rejected());
+        assertEquals(List.of(2L, 3L), report.errors().stream().map(ImportReport.RowError::line).toList());
+    }
+
+    @Test
+    public void testReportedErrorsAreCapped() throws IOException {
+        //given
+        BulkImporter importer = new BulkImporter(new ObjectMapper(), 10, 2);
+        String csv = "name,stock\nA\nB\nC\n";
+
+        //when
+        ImportReport report = importer.importRows(stream(csv), ImportFormat.CSV, target);
+
+        //then
+        assertEquals(3, report.rejected());
+        assertEquals(2, report.errors().size());
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static class Row {
+        public String name;
+        public int stock;
+    }
+
+    private static class RecordingTarget implements ImportTarget<Row> {
+        private final List<List<String>> chunks = new ArrayList<>();
+        private final List<String> rejectedNames = new ArrayList<>();
+        private int failingChunk = -1;
+
+        @Override
+        public Class<Row> rowType() {
+            return Row.class;
+        }
+
+        @Override
+        public Map<Integer, String> write(List<Row> rows) {
+            if (chunks.size() == failingChunk) {
+                chunks.add(List.of());
+                throw new IllegalStateException("database unavailable");
+            }
+            chunks.add(rows.stream().map(row -> row.name).toList());
+            Map<Integer, String> rejections = new HashMap<>();
+            for (int index = 0; index < rows.size(); index++) {
+                if (rejectedNames.contains(rows.get(index).name)) {
+                    rejections.put(index, rows.get(index).name + " is rejected");
+                }
+            }
+            return rejections;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.fulfilment.application.monolith.importer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ImportRowReaderTest {
+
+    @Test
+    public void testCsvValuesMayBeQuoted() {
+        //when
+        List<String> values = ImportRowReader.splitCsv("MWH.001,\"Zwolle, \"\"north\"\"\",,100");
+
+        //then
+        assertEquals(List.of("MWH.001", "Zwolle, \"north\"", "", "100"), values);
+    }
+
+    @Test
+    public void testUnterminatedQuoteIsRejected() {
+        //when
+        //then
+        assertThrows(IllegalArgumentException.class, () -> ImportRowReader.splitCsv("MWH.001,\"Zwolle"));
+    }
+}
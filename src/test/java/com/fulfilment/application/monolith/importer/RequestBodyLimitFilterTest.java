@@ -0,0 +1,38 @@
+package com.fulfilment.application.monolith.importer;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+@QuarkusTest
+public class RequestBodyLimitFilterTest {
+
+    // just above the default http.max-body-size of 10240K
+    private static final int OVERSIZED = 10240 * 1024 + 1;
+
+    @Test
+    public void testOversizedBodyIsRejectedOutsideImports() {
+        given()
+                .contentType("application/json")
+                .body("[" + " ".repeat(OVERSIZED) + "]")
+                .when()
+                .post("warehouse/batch")
+                .then()
+                .statusCode(413);
+    }
+
+    @Test
+    public void testImportAcceptsBodiesAboveTheDefaultLimit() {
+        // blank lines only, so nothing is imported
+        given()
+                .contentType(ImportFormat.NDJSON_TYPE)
+                .body("\n".repeat(OVERSIZED))
+                .when()
+                .post("import/products")
+                .then()
+                .statusCode(200)
+                .body("rows", equalTo(0));
+    }
+}
@@ -1,12 +1,22 @@
 package com.fulfilment.application.monolith.location;
 
+import com.fulfilment.application.monolith.exception.InvalidLocationException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class LocationGatewayTest {
 
+  @TempDir
+  Path tempDir;
+
   @Test
   public void testWhenResolveExistingLocationShouldReturn() {
     // given
@@ -18,4 +28,59 @@ public class LocationGatewayTest {
     // then
     assertEquals(location.identification, "ZWOLLE-001");
   }
+
+  @Test
+  public void testWhenResolveLocationIgnoringCaseShouldReturn() {
+    // given
+    LocationGateway locationGateway = new LocationGateway();
+
+    // when
+    Location location = locationGateway.resolveByIdentifier("amsterdam-002");
+
+    // then
+    assertEquals("AMSTERDAM-002", location.identification);
+    assertEquals(3, location.maxNumberOfWarehouses);
+    assertEquals(75, location.maxCapacity);
+  }
+
+  @Test
+  public void testWhenResolveUnknownLocationShouldThrow() {
+    // given
+    LocationGateway locationGateway = new LocationGateway();
+
+    // then
+    assertThrows(InvalidLocationException.class, () -> locationGateway.resolveByIdentifier("UTRECHT-001"));
+    assertThrows(InvalidLocationException.class, () -> locationGateway.resolveByIdentifier(null));
+  }
+
+  @Test
+  public void testWhenLocationsFileIsReloadedShouldResolveNewLocations() throws Exception {
+    // given
+    Path file = tempDir.resolve("locations.json");
+    Files.writeString(file, "[{\"identification\":\"UTRECHT-001\",\"maxNumberOfWarehouses\":4,\"maxCapacity\":120}]");
+    LocationGateway locationGateway = new LocationGateway();
+    locationGateway.locationsFile = Optional.of(file.toString());
+
+    // when
+    locationGateway.reloadIfChanged();
+
+    // then
+    assertEquals(120, locationGateway.resolveByIdentifier("UTRECHT-001").maxCapacity);
+    assertThrows(InvalidLocationException.class, () -> locationGateway.resolveByIdentifier("ZWOLLE-001"));
+  }
+
+  @Test
+  public void testWhenLocationsFileIsInvalidShouldKeepPreviousLocations() throws Exception {
+    // given
+    Path file = tempDir.resolve("locations.csv");
+    Files.writeString(file, "identification,maxNumberOfWarehouses,maxCapacity\nUTRECHT-001,4\n");
+    LocationGateway locationGateway = new LocationGateway();
+    locationGateway.locationsFile = Optional.of(file.toString());
+
+    // when
+    locationGateway.reloadIfChanged();
+
+    // then
+    assertEquals("ZWOLLE-001", locationGateway.resolveByIdentifier("ZWOLLE-001").identification);
+  }
 }
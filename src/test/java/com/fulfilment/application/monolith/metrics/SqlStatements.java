@@ -0,0 +1,54 @@
+package com.fulfilment.application.monolith.metrics;
+
+import io.quarkus.arc.Arc;
+import io.quarkus.arc.InjectableContext;
+import io.quarkus.arc.ManagedContext;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Assertions on the SQL a piece of code issues, for use in Quarkus tests. The code runs in a request context of its
+ * own, so only its statements are counted:
+ * <pre>{@code SqlStatements.assertAtMost(3, () -> validator.validateForBatchCreateWarehouses(warehouses));}</pre>
+ */
+public final class SqlStatements {
+
+    public record Recording(int statementCount, Map<String, Integer> countsBySql) {
+    }
+
+    private SqlStatements() {
+    }
+
+    public static Recording record(Runnable action) {
+        ManagedContext requestContext = Arc.container().requestContext();
+        InjectableContext.ContextState outer = requestContext.isActive() ? requestContext.getState() : null;
+        if (outer != null) {
+            requestContext.deactivate();
+        }
+        requestContext.activate();
+        try {
+            action.run();
+            SqlStatistics statistics = SqlStatistics.current();
+            return new Recording(statistics.statementCount(), statistics.statementCounts());
+        } finally {
+            requestContext.terminate();
+            if (outer != null) {
+                requestContext.activate(outer);
+            }
+        }
+    }
+
+    public static void assertAtMost(int maxStatements, Runnable action) {
+        Recording recording = record(action);
+        assertTrue(recording.statementCount() <= maxStatements,
+                () -> "Expected at most " + maxStatements + " SQL statements but got " + recording.statementCount() + ": " + recording.countsBySql());
+    }
+
+    public static void assertNoStatementRepeatedMoreThan(int maxRepeats, Runnable action) {
+        Recording recording = record(action);
+        recording.countsBySql().forEach((sql, count) -> assertTrue(count <= maxRepeats,
+                () -> "Expected no SQL statement more than " + maxRepeats + " times but got " + count + " times: " + sql));
+    }
+}
@@ -0,0 +1,81 @@
+package com.fulfilment.application.monolith.metrics;
+
+import com.fulfilment.application.monolith.exception.WarehouseConflictException;
+import com.fulfilment.application.monolith.exception.WarehouseNotFoundException;
+import com.fulfilment.application.monolith.exception.WarehouseValidationException;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.CreateWarehouseUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.interceptor.InvocationContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Method;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(MockitoExtension.class)
+public class TimedOperationInterceptorTest {
+
+    @Mock
+    private InvocationContext invocationContext;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TimedOperationInterceptor interceptor;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        interceptor = new TimedOperationInterceptor();
+        interceptor.meterRegistry = meterRegistry;
+    }
+
+    @Test
+    public void testSuccessfulCallIsRecordedWithSuccessOutcome() throws Exception {
+        //when
+        Mockito.when(invocationContext.getMethod()).thenReturn(createMethod());
+        Mockito.when(invocationContext.proceed()).thenReturn(null);
+        interceptor.time(invocationContext);
+        interceptor.time(invocationContext);
+
+        //then
+        assertEquals(2, timerCount(TimedOperationInterceptor.SUCCESS));
+    }
+
+    @Test
+    public void testFailedCallIsRecordedWithOutcomeOfException() throws Exception {
+        //when
+        Mockito.when(invocationContext.getMethod()).thenReturn(createMethod());
+        Mockito.when(invocationContext.proceed()).thenThrow(new WarehouseValidationException("Warehouse is already archived"));
+
+        //then
+        assertThrows(WarehouseValidationException.class, () -> interceptor.time(invocationContext));
+        assertEquals(1, timerCount(TimedOperationInterceptor.VALIDATION_FAILED));
+    }
+
+    @Test
+    public void testOutcomeOfExceptions() {
+        assertEquals(TimedOperationInterceptor.NOT_FOUND, TimedOperationInterceptor.outcome(new WarehouseNotFoundException("Warehouse does not exist")));
+        assertEquals(TimedOperationInterceptor.CONFLICT, TimedOperationInterceptor.outcome(new WarehouseConflictException("Warehouse was changed")));
+        assertEquals(TimedOperationInterceptor.ERROR, TimedOperationInterceptor.outcome(new IllegalStateException()));
+    }
+
+    private static Method createMethod() throws NoSuchMethodException {
+        return CreateWarehouseUseCase.class.getMethod("create", Warehouse.class);
+    }
+
+    private long timerCount(String outcome) {
+        return meterRegistry.get(TimedOperationInterceptor.METRIC_NAME)
+                .tag("class", "CreateWarehouseUseCase")
+                .tag("method", "create")
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+}
@@ -0,0 +1,56 @@
+package com.fulfilment.application.monolith.products;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fulfilment.application.monolith.etag.VersionRegistry;
+import io.quarkus.test.junit.QuarkusMock;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+@QuarkusTest
+public class ProductCatalogTest {
+
+  @Inject ProductCatalog productCatalog;
+
+  @Inject VersionRegistry versionRegistry;
+
+  @Test
+  public void testLoadOverlappingAWriteIsNotServedAfterTheWrite() throws Exception {
+    // given
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch written = new CountDownLatch(1);
+    ProductRepository productRepository = Mockito.mock(ProductRepository.class);
+    Mockito.when(productRepository.findViewById(42L))
+        .thenAnswer(
+            invocation -> {
+              loading.countDown();
+              written.await();
+              return new ProductView(42L, "LACK", null, null, 1);
+            })
+        .thenReturn(new ProductView(42L, "LACK", null, null, 2));
+    QuarkusMock.installMockForType(productRepository, ProductRepository.class);
+
+    // when
+    ProductView staleRead;
+    try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+      Future<ProductView> read = executor.submit(() -> productCatalog.findById(42L));
+      loading.await();
+      // a write commits while the read is still loading the old state
+      versionRegistry.bump(VersionRegistry.Table.PRODUCT);
+      written.countDown();
+      staleRead = read.get();
+    }
+
+    // then
+    assertEquals(1, staleRead.stock());
+    assertEquals(2, productCatalog.findById(42L).stock());
+    assertEquals(2, productCatalog.findById(42L).stock());
+    Mockito.verify(productRepository, Mockito.times(2)).findViewById(42L);
+  }
+}
@@ -33,4 +33,35 @@ public class ProductEndpointTest {
         .statusCode(200)
         .body(not(containsString("TONSTAD")), containsString("KALLAX"), containsString("BESTÅ"));
   }
+
+  @Test
+  public void testUpdateIsVisibleThroughTheCatalogCache() {
+    final String path = "product/2";
+
+    // Read twice, the second read is served from the cache:
+    given().when().get(path).then().statusCode(200).body(containsString("\"stock\":5"));
+    given().when().get(path).then().statusCode(200).body(containsString("\"stock\":5"));
+
+    // Update the KALLAX stock:
+    given()
+        .contentType("application/json")
+        .body("{\"name\": \"KALLAX\", \"stock\": 7}")
+        .when()
+        .put(path)
+        .then()
+        .statusCode(200);
+
+    // Both the single product and the list show the new stock:
+    given().when().get(path).then().statusCode(200).body(containsString("\"stock\":7"));
+    given().when().get("product").then().statusCode(200).body(containsString("\"stock\":7"));
+
+    // Restore the initial stock:
+    given()
+        .contentType("application/json")
+        .body("{\"name\": \"KALLAX\", \"stock\": 5}")
+        .when()
+        .put(path)
+        .then()
+        .statusCode(200);
+  }
 }
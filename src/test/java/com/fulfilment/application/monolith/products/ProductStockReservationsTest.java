@@ -0,0 +1,100 @@
+package com.fulfilment.application.monolith.products;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusMock;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+@QuarkusTest
+public class ProductStockReservationsTest {
+
+  @Inject ProductStockReservations productStockReservations;
+
+  @Inject EntityManager entityManager;
+
+  ProductRepository productRepository;
+
+  @BeforeEach
+  public void installRepository() {
+    productRepository = Mockito.mock(ProductRepository.class);
+    // the background flush writes through the repository's entity manager
+    Mockito.when(productRepository.getEntityManager()).thenReturn(entityManager);
+    QuarkusMock.installMockForType(productRepository, ProductRepository.class);
+  }
+
+  @Test
+  public void testWriteCommittedWhileSeedingReplacesTheSeed() throws Exception {
+    // given
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch written = new CountDownLatch(1);
+    Mockito.when(productRepository.findByIdReadOnly(71L))
+        .thenAnswer(
+            invocation -> {
+              loading.countDown();
+              written.await();
+              return product(1);
+            })
+        .thenReturn(product(9));
+
+    // when
+    try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+      Future<Boolean> reservation = executor.submit(() -> productStockReservations.reserve(71L, 1));
+      loading.await();
+      // a PUT commits while the first reservation still loads the old stock
+      QuarkusTransaction.requiringNew().run(() -> productStockReservations.overwriteAfterCommit(71L, 9));
+      written.countDown();
+      reservation.get();
+    }
+
+    // then
+    assertTrue(productStockReservations.reserve(71L, 9));
+    assertFalse(productStockReservations.reserve(71L, 1));
+    Mockito.verify(productRepository, Mockito.times(2)).findByIdReadOnly(71L);
+  }
+
+  @Test
+  public void testReleaseIsLimitedToReservedUnits() {
+    // given
+    Mockito.when(productRepository.findByIdReadOnly(72L)).thenReturn(product(5));
+    assertTrue(productStockReservations.reserve(72L, 2));
+
+    // when
+    // then
+    assertFalse(productStockReservations.release(72L, 3));
+    assertTrue(productStockReservations.release(72L, 2));
+    assertFalse(productStockReservations.release(72L, 1));
+    assertTrue(productStockReservations.reserve(72L, 5));
+    assertFalse(productStockReservations.reserve(72L, 1));
+  }
+
+  @Test
+  public void testOverwriteForgetsReservedUnits() {
+    // given
+    Mockito.when(productRepository.findByIdReadOnly(73L)).thenReturn(product(5));
+    assertTrue(productStockReservations.reserve(73L, 2));
+
+    // when
+    QuarkusTransaction.requiringNew().run(() -> productStockReservations.overwriteAfterCommit(73L, 4));
+
+    // then
+    assertFalse(productStockReservations.release(73L, 1));
+    assertTrue(productStockReservations.reserve(73L, 4));
+  }
+
+  private static Product product(int stock) {
+    Product product = new Product("LACK");
+    product.stock = stock;
+    return product;
+  }
+}
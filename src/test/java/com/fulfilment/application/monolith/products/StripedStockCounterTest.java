@@ -0,0 +1,105 @@
+package com.fulfilment.application.monolith.products;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+public class StripedStockCounterTest {
+
+  @Test
+  public void testReservationSpanningStripesIsGranted() {
+    // given
+    StripedStockCounter counter = new StripedStockCounter(8, 10);
+
+    // when
+    boolean reserved = counter.tryReserve(9);
+
+    // then
+    assertTrue(reserved);
+    assertEquals(1, counter.available());
+  }
+
+  @Test
+  public void testReservationAboveAvailableStockIsRefused() {
+    // given
+    StripedStockCounter counter = new StripedStockCounter(8, 10);
+    counter.tryReserve(4);
+
+    // when
+    boolean reserved = counter.tryReserve(7);
+
+    // then
+    assertFalse(reserved);
+    assertEquals(6, counter.available());
+  }
+
+  @Test
+  public void testReleasedStockCanBeReservedAgain() {
+    // given
+    StripedStockCounter counter = new StripedStockCounter(4, 1);
+    counter.tryReserve(1);
+
+    // when
+    counter.release(1);
+
+    // then
+    assertTrue(counter.tryReserve(1));
+    assertEquals(0, counter.available());
+  }
+
+  @Test
+  public void testConcurrentReservationsNeverOversell() throws Exception {
+    // given
+    StripedStockCounter counter = new StripedStockCounter(16, 10_000);
+    List<Future<Integer>> results = new ArrayList<>();
+
+    // when
+    try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+      for (int thread = 0; thread < 8; thread++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  int reserved = 0;
+                  for (int i = 0; i < 5_000; i++) {
+                    if (counter.tryReserve(1 + i % 3)) {
+                      reserved += 1 + i % 3;
+                    }
+                  }
+                  return reserved;
+                }));
+      }
+    }
+
+    // then
+    int reserved = 0;
+    for (Future<Integer> result : results) {
+      reserved += result.get();
+    }
+    assertEquals(10_000, reserved + counter.available());
+    assertTrue(counter.available() >= 0 && counter.available() < 3);
+  }
+
+  @Test
+  public void testChangeIsReportedOnceUntilTheNextOne() {
+    // given
+    StripedStockCounter counter = new StripedStockCounter(2, 5);
+    counter.tryReserve(1);
+
+    // when
+    boolean first = counter.takeDirty();
+    boolean second = counter.takeDirty();
+    counter.release(1);
+
+    // then
+    assertTrue(first);
+    assertFalse(second);
+    assertTrue(counter.takeDirty());
+  }
+}
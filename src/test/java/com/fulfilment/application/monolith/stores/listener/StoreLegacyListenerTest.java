@@ -0,0 +1,77 @@
+package com.fulfilment.application.monolith.stores.listener;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fulfilment.application.monolith.stores.Store;
+import com.fulfilment.application.monolith.stores.event.StoreCreateEvent;
+import com.fulfilment.application.monolith.stores.outbox.StoreOutboxMessage;
+import com.fulfilment.application.monolith.stores.outbox.StoreOutboxRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.panache.common.Sort;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+@QuarkusTest
+public class StoreLegacyListenerTest {
+
+  @Inject StoreOutboxRepository storeOutboxRepository;
+
+  @Inject Event<StoreCreateEvent> storeCreateEvent;
+
+  @Test
+  public void testStoreChangesAreQueuedInOrder() {
+    // given
+    Integer id =
+        given()
+            .contentType("application/json")
+            .body("{\"name\": \"LISTENER-QUEUED\", \"quantityProductsInStock\": 3}")
+            .when()
+            .post("stores")
+            .then()
+            .statusCode(201)
+            .extract()
+            .path("id");
+
+    // when
+    given()
+        .contentType("application/json")
+        .body("{\"name\": \"LISTENER-QUEUED\", \"quantityProductsInStock\": 4}")
+        .when()
+        .put("stores/" + id)
+        .then()
+        .statusCode(200);
+
+    // then
+    assertEquals(
+        List.of(StoreOutboxMessage.Type.CREATED, StoreOutboxMessage.Type.UPDATED),
+        types(id.longValue()));
+  }
+
+  @Test
+  public void testNothingIsQueuedWhenTheChangeRollsBack() {
+    // given
+    Store store = new Store("LISTENER-ROLLED-BACK");
+    store.id = -1L;
+
+    // when
+    QuarkusTransaction.requiringNew()
+        .run(
+            () -> {
+              storeCreateEvent.fire(new StoreCreateEvent(store));
+              QuarkusTransaction.setRollbackOnly();
+            });
+
+    // then
+    assertEquals(List.of(), types(-1L));
+  }
+
+  private List<StoreOutboxMessage.Type> types(Long storeId) {
+    return storeOutboxRepository.list("storeId", Sort.by("id"), storeId).stream()
+        .map(message -> message.type)
+        .toList();
+  }
+}
@@ -0,0 +1,130 @@
+package com.fulfilment.application.monolith.stores.outbox;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fulfilment.application.monolith.stores.LegacyStoreManagerGateway;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.test.junit.QuarkusMock;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.TransactionManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+@QuarkusTest
+public class StoreOutboxDeliveryTest {
+
+  @Inject StoreOutboxDispatcher storeOutboxDispatcher;
+
+  @Inject StoreOutboxRepository storeOutboxRepository;
+
+  @Inject TransactionManager transactionManager;
+
+  LegacyStoreManagerGateway legacyStoreManagerGateway;
+
+  @BeforeEach
+  public void installGateway() {
+    legacyStoreManagerGateway = Mockito.mock(LegacyStoreManagerGateway.class);
+    QuarkusMock.installMockForType(legacyStoreManagerGateway, LegacyStoreManagerGateway.class);
+  }
+
+  @Test
+  public void testLegacySystemIsCalledOutsideATransaction() throws Exception {
+    // given
+    Long id = createStore("OUTBOX-NO-TRANSACTION");
+    List<Integer> statuses = new ArrayList<>();
+    Mockito.doAnswer(
+            invocation -> {
+              statuses.add(transactionManager.getStatus());
+              return null;
+            })
+        .when(legacyStoreManagerGateway)
+        .createStoreOnLegacySystem(ArgumentMatchers.argThat(store -> id.equals(store.id)));
+
+    // when
+    storeOutboxDispatcher.dispatch();
+
+    // then
+    assertEquals(List.of(Status.STATUS_NO_TRANSACTION), statuses);
+    assertEquals(0, storeOutboxRepository.count("storeId", id));
+  }
+
+  @Test
+  public void testFailedCreationHoldsBackLaterChangesOfTheStore() {
+    // given
+    Long id = createStore("OUTBOX-ORDER");
+    given()
+        .contentType("application/json")
+        .body("{\"name\": \"OUTBOX-ORDER\", \"quantityProductsInStock\": 2}")
+        .when()
+        .put("stores/" + id)
+        .then()
+        .statusCode(200);
+    Mockito.doThrow(new IllegalStateException("legacy system down"))
+        .doNothing()
+        .when(legacyStoreManagerGateway)
+        .createStoreOnLegacySystem(ArgumentMatchers.argThat(store -> id.equals(store.id)));
+
+    // when
+    storeOutboxDispatcher.dispatch();
+
+    // then the update waits for the failed creation, which is retried later
+    Mockito.verify(legacyStoreManagerGateway, Mockito.never())
+        .updateStoreOnLegacySystem(ArgumentMatchers.argThat(store -> id.equals(store.id)));
+    StoreOutboxMessage failed = storeOutboxRepository.find("storeId = ?1 order by id", id).firstResult();
+    assertEquals(StoreOutboxMessage.Type.CREATED, failed.type);
+    assertEquals(1, failed.attempts);
+    assertEquals("legacy system down", failed.lastError);
+
+    // when the retry is due, the creation and then the update are delivered
+    QuarkusTransaction.requiringNew()
+        .run(() -> storeOutboxRepository.update("nextAttemptAt = ?1 where storeId = ?2", LocalDateTime.now(), id));
+    storeOutboxDispatcher.dispatch();
+    storeOutboxDispatcher.dispatch();
+
+    // then
+    InOrder inOrder = Mockito.inOrder(legacyStoreManagerGateway);
+    inOrder.verify(legacyStoreManagerGateway, Mockito.times(2))
+        .createStoreOnLegacySystem(ArgumentMatchers.argThat(store -> id.equals(store.id)));
+    inOrder.verify(legacyStoreManagerGateway)
+        .updateStoreOnLegacySystem(ArgumentMatchers.argThat(store -> id.equals(store.id)));
+    assertEquals(0, storeOutboxRepository.count("storeId", id));
+  }
+
+  @Test
+  public void testChangeOfADeletedStoreIsDropped() {
+    // given
+    Long id = createStore("OUTBOX-DELETED");
+    given().when().delete("stores/" + id).then().statusCode(204);
+
+    // when
+    storeOutboxDispatcher.dispatch();
+
+    // then
+    Mockito.verify(legacyStoreManagerGateway, Mockito.never())
+        .createStoreOnLegacySystem(ArgumentMatchers.argThat(store -> id.equals(store.id)));
+    assertEquals(0, storeOutboxRepository.count("storeId", id));
+  }
+
+  private static Long createStore(String name) {
+    Integer id =
+        given()
+            .contentType("application/json")
+            .body("{\"name\": \"" + name + "\", \"quantityProductsInStock\": 1}")
+            .when()
+            .post("stores")
+            .then()
+            .statusCode(201)
+            .extract()
+            .path("id");
+    return id.longValue();
+  }
+}
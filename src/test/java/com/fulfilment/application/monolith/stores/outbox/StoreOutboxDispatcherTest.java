@@ -0,0 +1,25 @@
+package com.fulfilment.application.monolith.stores.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+public class StoreOutboxDispatcherTest {
+
+  private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+  private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+
+  @Test
+  public void testBackoffDoublesWithEveryAttempt() {
+    assertEquals(Duration.ofSeconds(1), StoreOutboxDispatcher.backoff(1, INITIAL_BACKOFF, MAX_BACKOFF));
+    assertEquals(Duration.ofSeconds(2), StoreOutboxDispatcher.backoff(2, INITIAL_BACKOFF, MAX_BACKOFF));
+    assertEquals(Duration.ofSeconds(8), StoreOutboxDispatcher.backoff(4, INITIAL_BACKOFF, MAX_BACKOFF));
+  }
+
+  @Test
+  public void testBackoffIsCappedAtMaximum() {
+    assertEquals(MAX_BACKOFF, StoreOutboxDispatcher.backoff(10, INITIAL_BACKOFF, MAX_BACKOFF));
+    assertEquals(MAX_BACKOFF, StoreOutboxDispatcher.backoff(1000, INITIAL_BACKOFF, MAX_BACKOFF));
+  }
+}
@@ -4,19 +4,26 @@ import com.fulfilment.application.monolith.exception.InvalidLocationException;
 import com.fulfilment.application.monolith.exception.WarehouseNotFoundException;
 import com.fulfilment.application.monolith.exception.WarehouseValidationException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.LocationTotals;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseCreationCheck;
 import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
 import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import com.fulfilment.application.monolith.warehouses.validation.DefaultWarehouseValidator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @ExtendWith(MockitoExtension.class)
@@ -61,6 +68,27 @@ public class DefaultWarehouseValidatorTest {
         assertThrows(InvalidLocationException.class, () -> validator.validateForCreateWarehouse(warehouse));
     }
 
+    @Test
+    public void testValidateForCreateWarehouseWithCodeTakenWhileWaitingForLocationLock() {
+        //given
+        Warehouse warehouse = new Warehouse();
+        warehouse.setBusinessUnitCode("1");
+        warehouse.setLocation("ncr");
+        warehouse.setCapacity(10);
+        warehouse.setStock(5);
+
+        Location location = new Location("1", 32, 30);
+
+        //when
+        Mockito.when(locationResolver.resolveByIdentifier(warehouse.getLocation())).thenReturn(location);
+        Mockito.when(warehouseStore.lockLocationForCreation(warehouse.getBusinessUnitCode(), location.identification))
+                .thenReturn(new WarehouseCreationCheck(true, 0, 0));
+
+        //then
+        assertThrows(WarehouseValidationException.class, () -> validator.validateForCreateWarehouse(warehouse));
+        Mockito.verify(warehouseStore, Mockito.never()).existsByBusinessUnitCode(warehouse.getBusinessUnitCode());
+    }
+
     @Test
     public void testValidateForCreateWarehouseWithMaxNumberOfWarehouses() {
         //given
@@ -73,8 +101,8 @@ public class DefaultWarehouseValidatorTest {
 
         //when
         Mockito.when(locationResolver.resolveByIdentifier(warehouse.getLocation())).thenReturn(location);
-        Mockito.when(warehouseStore.existsByBusinessUnitCode(warehouse.getBusinessUnitCode())).thenReturn(false);
-        Mockito.when(warehouseStore.countByLocation(location.identification)).thenReturn(33);
+        Mockito.when(warehouseStore.lockLocationForCreation(warehouse.getBusinessUnitCode(), location.identification))
+                .thenReturn(new WarehouseCreationCheck(false, 33, 0));
 
         //then
         assertThrows(WarehouseValidationException.class, () -> validator.validateForCreateWarehouse(warehouse));
@@ -93,8 +121,8 @@ public class DefaultWarehouseValidatorTest {
 
         //when
         Mockito.when(locationResolver.resolveByIdentifier(warehouse.getLocation())).thenReturn(location);
-        Mockito.when(warehouseStore.existsByBusinessUnitCode(warehouse.getBusinessUnitCode())).thenReturn(false);
-        Mockito.when(warehouseStore.countByLocation(location.identification)).thenReturn(33);
+        Mockito.when(warehouseStore.lockLocationForCreation(warehouse.getBusinessUnitCode(), location.identification))
+                .thenReturn(new WarehouseCreationCheck(false, 33, 0));
 
         //then
         assertThrows(WarehouseValidationException.class, () -> validator.validateForCreateWarehouse(warehouse));
@@ -114,13 +142,60 @@ public class DefaultWarehouseValidatorTest {
 
         //when
         Mockito.when(locationResolver.resolveByIdentifier(warehouse.getLocation())).thenReturn(location);
-        Mockito.when(warehouseStore.existsByBusinessUnitCode(warehouse.getBusinessUnitCode())).thenReturn(false);
-        Mockito.when(warehouseStore.countByLocation(location.identification)).thenReturn(33);
+        Mockito.when(warehouseStore.lockLocationForCreation(warehouse.getBusinessUnitCode(), location.identification))
+                .thenReturn(new WarehouseCreationCheck(false, 33, 0));
 
         //then
         assertThrows(WarehouseValidationException.class, () -> validator.validateForCreateWarehouse(warehouse));
     }
 
+    @Test
+    public void testValidateForCreateWarehouseWithLocationCapacityExhausted() {
+        //given
+        Warehouse warehouse = new Warehouse();
+        warehouse.setBusinessUnitCode("1");
+        warehouse.setLocation("ncr");
+        warehouse.setCapacity(20);
+        warehouse.setStock(5);
+
+        Location location = new Location("1", 32, 30);
+
+        //when
+        Mockito.when(locationResolver.resolveByIdentifier(warehouse.getLocation())).thenReturn(location);
+        Mockito.when(warehouseStore.lockLocationForCreation(warehouse.getBusinessUnitCode(), location.identification))
+                .thenReturn(new WarehouseCreationCheck(false, 1, 15));
+
+        //then
+        assertThrows(WarehouseValidationException.class, () -> validator.validateForCreateWarehouse(warehouse));
+    }
+
+    @Test
+    public void testValidateForReplaceWarehouseDoesNotCountReplacedWarehouseCapacity() {
+        //given
+        Warehouse existing = new Warehouse();
+        existing.setBusinessUnitCode("1");
+        existing.setLocation("1");
+        existing.setCapacity(20);
+        existing.setStock(10);
+
+        Warehouse newWarehouse = new Warehouse();
+        newWarehouse.setBusinessUnitCode("1");
+        newWarehouse.setLocation("1");
+        newWarehouse.setCapacity(25);
+        newWarehouse.setStock(10);
+
+        Location location = new Location("1", 32, 30);
+
+        //when
+        Mockito.when(warehouseStore.findByBusinessUnitCode(newWarehouse.getBusinessUnitCode())).thenReturn(existing);
+        Mockito.when(locationResolver.resolveByIdentifier(newWarehouse.getLocation())).thenReturn(location);
+        Mockito.when(warehouseStore.lockLocationForCreation(newWarehouse.getBusinessUnitCode(), location.identification))
+                .thenReturn(new WarehouseCreationCheck(true, 1, 20));
+
+        //then
+        assertEquals(existing, validator.validateForReplaceWarehouse(newWarehouse));
+    }
+
     @Test
     public void testValidateForReplaceWarehouseWithNonExistingWarehouse() {
         //given
@@ -227,4 +302,118 @@ public class DefaultWarehouseValidatorTest {
         //then
         assertThrows(WarehouseValidationException.class, () -> validator.validateForArchiveWarehouse(warehouse));
     }
+
+    @Test
+    public void testValidateForBatchCreateWarehousesRejectsDuplicatedAndExistingCodes() {
+        //given
+        Warehouse existing = Warehouse.builder().businessUnitCode("1").location("ncr").capacity(10).stock(5).build();
+        Warehouse first = Warehouse.builder().businessUnitCode("2").location("ncr").capacity(10).stock(5).build();
+        Warehouse duplicate = Warehouse.builder().businessUnitCode("2").location("ncr").capacity(10).stock(5).build();
+
+        Location location = new Location("1", 32, 30);
+
+        //when
+        Mockito.when(warehouseStore.findExistingBusinessUnitCodes(Set.of("1", "2"))).thenReturn(Set.of("1"));
+        Mockito.when(locationResolver.resolveByIdentifier("ncr")).thenReturn(location);
+        Mockito.when(warehouseStore.lockLocationsForCreation(Set.of(location.identification))).thenReturn(Map.of());
+        Map<Integer, String> rejections = validator.validateForBatchCreateWarehouses(List.of(existing, first, duplicate));
+
+        //then
+        assertEquals(Set.of(0, 2), rejections.keySet());
+        Mockito.verify(locationResolver, Mockito.times(1)).resolveByIdentifier("ncr");
+    }
+
+    @Test
+    public void testValidateForBatchCreateWarehousesCountsAcceptedWarehousesAgainstLocationMaximum() {
+        //given
+        Warehouse first = Warehouse.builder().businessUnitCode("1").location("ncr").capacity(10).stock(5).build();
+        Warehouse second = Warehouse.builder().businessUnitCode("2").location("ncr").capacity(10).stock(5).build();
+
+        Location location = new Location("1", 2, 30);
+
+        //when
+        Mockito.when(warehouseStore.findExistingBusinessUnitCodes(Set.of("1", "2"))).thenReturn(Set.of());
+        Mockito.when(locationResolver.resolveByIdentifier("ncr")).thenReturn(location);
+        Mockito.when(warehouseStore.lockLocationsForCreation(Set.of(location.identification)))
+                .thenReturn(Map.of(location.identification, new LocationTotals(1, 0)));
+        Map<Integer, String> rejections = validator.validateForBatchCreateWarehouses(List.of(first, second));
+
+        //then
+        assertEquals(Set.of(1), rejections.keySet());
+        Mockito.verify(warehouseStore, Mockito.times(1)).lockLocationsForCreation(Set.of(location.identification));
+    }
+
+    @Test
+    public void testValidateForBatchCreateWarehousesCountsAcceptedCapacityAgainstLocationMaximum() {
+        //given
+        Warehouse first = Warehouse.builder().businessUnitCode("1").location("ncr").capacity(10).stock(5).build();
+        Warehouse second = Warehouse.builder().businessUnitCode("2").location("ncr").capacity(10).stock(5).build();
+
+        Location location = new Location("1", 5, 30);
+
+        //when
+        Mockito.when(warehouseStore.findExistingBusinessUnitCodes(Set.of("1", "2"))).thenReturn(Set.of());
+        Mockito.when(locationResolver.resolveByIdentifier("ncr")).thenReturn(location);
+        Mockito.when(warehouseStore.lockLocationsForCreation(Set.of(location.identification)))
+                .thenReturn(Map.of(location.identification, new LocationTotals(1, 15)));
+        Map<Integer, String> rejections = validator.validateForBatchCreateWarehouses(List.of(first, second));
+
+        //then
+        assertEquals(Set.of(1), rejections.keySet());
+    }
+
+    @Test
+    public void testValidateForBatchCreateWarehousesLocksEveryLocationBeforeReadingCodes() {
+        //given
+        Warehouse first = Warehouse.builder().businessUnitCode("1").location("ncr").capacity(10).stock(5).build();
+        Warehouse second = Warehouse.builder().businessUnitCode("2").location("blr").capacity(10).stock(5).build();
+        Warehouse unknown = Warehouse.builder().businessUnitCode("3").location("nowhere").capacity(10).stock(5).build();
+
+        //when
+        Mockito.when(locationResolver.resolveByIdentifier("ncr")).thenReturn(new Location("NCR", 5, 30));
+        Mockito.when(locationResolver.resolveByIdentifier("blr")).thenReturn(new Location("BLR", 5, 30));
+        Mockito.when(locationResolver.resolveByIdentifier("nowhere")).thenThrow(new InvalidLocationException("Invalid warehouse location: nowhere"));
+        Mockito.when(warehouseStore.lockLocationsForCreation(Set.of("NCR", "BLR"))).thenReturn(Map.of());
+        Mockito.when(warehouseStore.findExistingBusinessUnitCodes(Set.of("1", "2", "3"))).thenReturn(Set.of());
+        Map<Integer, String> rejections = validator.validateForBatchCreateWarehouses(List.of(first, second, unknown));
+
+        //then
+        assertEquals(Set.of(2), rejections.keySet());
+        InOrder inOrder = Mockito.inOrder(warehouseStore);
+        inOrder.verify(warehouseStore).lockLocationsForCreation(Set.of("NCR", "BLR"));
+        inOrder.verify(warehouseStore).findExistingBusinessUnitCodes(Set.of("1", "2", "3"));
+    }
+
+    @Test
+    public void testValidateForCreateWarehouseStoresTheRegisteredLocationSpelling() {
+        //given
+        Warehouse warehouse = Warehouse.builder().businessUnitCode("1").location("zwolle-001").capacity(10).stock(5).build();
+        Location location = new Location("ZWOLLE-001", 2, 30);
+
+        //when
+        Mockito.when(locationResolver.resolveByIdentifier("zwolle-001")).thenReturn(location);
+        Mockito.when(warehouseStore.lockLocationForCreation("1", "ZWOLLE-001")).thenReturn(new WarehouseCreationCheck(false, 0, 0));
+        validator.validateForCreateWarehouse(warehouse);
+
+        //then
+        assertEquals("ZWOLLE-001", warehouse.getLocation());
+    }
+
+    @Test
+    public void testValidateForBatchCreateWarehousesCountsDifferentSpellingsAsOneLocation() {
+        //given
+        Warehouse first = Warehouse.builder().businessUnitCode("1").location("zwolle-001").capacity(10).stock(5).build();
+        Warehouse second = Warehouse.builder().businessUnitCode("2").location("Zwolle-001").capacity(10).stock(5).build();
+        Location location = new Location("ZWOLLE-001", 1, 30);
+
+        //when
+        Mockito.when(locationResolver.resolveByIdentifier("zwolle-001")).thenReturn(location);
+        Mockito.when(locationResolver.resolveByIdentifier("Zwolle-001")).thenReturn(location);
+        Mockito.when(warehouseStore.lockLocationsForCreation(Set.of("ZWOLLE-001"))).thenReturn(Map.of());
+        Map<Integer, String> rejections = validator.validateForBatchCreateWarehouses(List.of(first, second));
+
+        //then
+        assertEquals(Set.of(1), rejections.keySet());
+        assertEquals("ZWOLLE-001", first.getLocation());
+    }
 }
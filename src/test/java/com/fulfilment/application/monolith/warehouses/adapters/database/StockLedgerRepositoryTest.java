@@ -0,0 +1,113 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import com.fulfilment.application.monolith.exception.WarehouseValidationException;
+import com.fulfilment.application.monolith.warehouses.domain.models.StockMovement;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@QuarkusTest
+public class StockLedgerRepositoryTest {
+
+    private static final AtomicInteger CODES = new AtomicInteger();
+
+    @Inject
+    StockLedgerRepository stockLedgerRepository;
+
+    @Inject
+    StockLedgerCompactor stockLedgerCompactor;
+
+    @Inject
+    WarehouseRepository warehouseRepository;
+
+    private final List<Warehouse> created = new ArrayList<>();
+
+    @AfterEach
+    public void removeWarehouses() {
+        created.forEach(warehouseRepository::remove);
+    }
+
+    @Test
+    public void testAppendRejectsMovementsTakingTheStockBelowZero() {
+        //given
+        Long id = warehouse(20, 10).getWareHouseId();
+
+        //when
+        //then
+        assertThrows(WarehouseValidationException.class, () -> stockLedgerRepository.append(List.of(new StockMovement(id, -11))));
+        assertEquals(Map.of(), stockLedgerRepository.pendingDeltas(List.of(id)));
+        assertDoesNotThrow(() -> stockLedgerRepository.append(List.of(new StockMovement(id, -10))));
+    }
+
+    @Test
+    public void testAppendRejectsMovementsTakingTheStockAboveCapacity() {
+        //given
+        Long id = warehouse(20, 10).getWareHouseId();
+        stockLedgerRepository.append(List.of(new StockMovement(id, 4)));
+
+        //when
+        //then
+        assertThrows(WarehouseValidationException.class,
+                () -> stockLedgerRepository.append(List.of(new StockMovement(id, 3), new StockMovement(id, 4))));
+        assertEquals(Map.of(id, 4), stockLedgerRepository.pendingDeltas(List.of(id)));
+    }
+
+    @Test
+    public void testCompactionFoldsMovementsWithoutChangingTheVersion() {
+        //given
+        Long id = warehouse(20, 10).getWareHouseId();
+        stockLedgerRepository.append(List.of(new StockMovement(id, 5)));
+        Warehouse read = warehouseRepository.findByWarehouseId(id.toString());
+
+        //when
+        stockLedgerCompactor.compact();
+
+        //then
+        Warehouse compacted = warehouseRepository.findByWarehouseId(id.toString());
+        assertEquals(Map.of(), stockLedgerRepository.pendingDeltas(List.of(id)));
+        assertEquals(15, read.getStock());
+        assertEquals(15, compacted.getStock());
+        assertEquals(read.getVersion(), compacted.getVersion());
+        // a write based on the version read before compaction still applies
+        read.setCapacity(25);
+        assertDoesNotThrow(() -> warehouseRepository.update(read));
+    }
+
+    @Test
+    public void testWarehouseWithPendingMovementsCanBeRemoved() {
+        //given
+        Warehouse warehouse = warehouse(20, 10);
+        stockLedgerRepository.append(List.of(new StockMovement(warehouse.getWareHouseId(), 1)));
+
+        //when
+        created.remove(warehouse);
+        warehouseRepository.remove(warehouse);
+
+        //then
+        assertEquals(Map.of(), stockLedgerRepository.pendingDeltas(List.of(warehouse.getWareHouseId())));
+    }
+
+    private Warehouse warehouse(int capacity, int stock) {
+        Warehouse warehouse = warehouseRepository.create(Warehouse.builder()
+                .businessUnitCode("MWH.LEDGER." + CODES.incrementAndGet())
+                .location("AMSTERDAM-002")
+                .capacity(capacity)
+                .stock(stock)
+                .creationAt(ZonedDateTime.now())
+                .build());
+        created.add(warehouse);
+        return warehouse;
+    }
+}
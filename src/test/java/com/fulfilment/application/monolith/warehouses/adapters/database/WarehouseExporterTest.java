@@ -0,0 +1,75 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@QuarkusTest
+public class WarehouseExporterTest {
+
+    @Inject
+    WarehouseExporter warehouseExporter;
+
+    @Inject
+    WarehouseRepository warehouseRepository;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Test
+    public void testExportWritesEveryRowAsCompressedNdjson() throws IOException {
+        //given
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+
+        //when
+        long exported = warehouseExporter.export(Channels.newChannel(file));
+
+        //then
+        List<String> lines;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new ByteArrayInputStream(file.toByteArray())), StandardCharsets.UTF_8))) {
+            lines = reader.lines().toList();
+        }
+        assertEquals(warehouseRepository.count(), exported);
+        assertEquals(exported, lines.size());
+
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertTrue(first.has("businessUnitCode"));
+        assertTrue(first.has("archivedAt"));
+        assertTrue(first.has("version"));
+    }
+
+    @Test
+    public void testExportKeepsTheSecondLevelCache() throws IOException {
+        //given
+        warehouseRepository.findById(1L);
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        assertTrue(cache.contains(DbWarehouse.class, 1L));
+
+        //when
+        warehouseExporter.export(Channels.newChannel(new ByteArrayOutputStream()));
+
+        //then
+        assertTrue(cache.contains(DbWarehouse.class, 1L));
+    }
+}
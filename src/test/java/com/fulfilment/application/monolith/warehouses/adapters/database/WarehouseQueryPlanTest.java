@@ -0,0 +1,185 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import com.fulfilment.application.monolith.metrics.SqlStatements;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseSearchCriteria;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseSearchCursor;
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the SQL the repositories actually send can be answered from the indexes created by the migrations.
+ * Each test records the statements of a repository call and explains the one it is about. The bind values are not
+ * known at that point, so the statement is prepared and explained as a generic plan, which does not depend on them.
+ * The sample tables are tiny, so sequential scans are disabled for the transaction; otherwise the planner would
+ * rightly prefer them and the plans would say nothing about the indexes.
+ */
+@QuarkusTest
+@TestTransaction
+public class WarehouseQueryPlanTest {
+
+    private static final String PRIMARY_KEY = "warehouse_pkey";
+    private static final String ACTIVE_CODE_INDEX = "warehouse_active_business_unit_code_idx";
+    private static final String LOCATION_INDEX = "warehouse_location_archived_at_idx";
+    private static final String CAPACITY_INDEX = "warehouse_active_capacity_idx";
+    private static final String LOCATION_TOTALS_KEY = "location_totals_pkey";
+    private static final String MOVEMENT_INDEX = "warehouse_stock_movement_warehouse_idx";
+
+    @Inject
+    WarehouseRepository warehouseRepository;
+
+    @Inject
+    StockLedgerRepository stockLedgerRepository;
+
+    @Inject
+    EntityManager entityManager;
+
+    @Test
+    public void testFindByBusinessUnitCodeUsesActiveBusinessUnitCodeIndex() {
+        //when
+        String plan = explain("activebusinessunitcode=?", () -> warehouseRepository.findByBusinessUnitCode("MWH.001"));
+
+        //then
+        assertUsesIndex(plan, ACTIVE_CODE_INDEX);
+        assertUsesIndex(plan, MOVEMENT_INDEX);
+    }
+
+    @Test
+    public void testFindByIdAddsPendingStockThroughMovementIndex() {
+        //when
+        String plan = explain("from warehouse w1_0", () -> warehouseRepository.findByWarehouseId("1"));
+
+        //then
+        assertUsesIndex(plan, PRIMARY_KEY);
+        assertUsesIndex(plan, MOVEMENT_INDEX);
+    }
+
+    @Test
+    public void testExistingBusinessUnitCodesUsesActiveBusinessUnitCodeIndex() {
+        //when
+        String plan = explain("activebusinessunitcode in",
+                () -> warehouseRepository.findExistingBusinessUnitCodes(List.of("MWH.001", "MWH.999")));
+
+        //then
+        assertUsesIndex(plan, ACTIVE_CODE_INDEX);
+    }
+
+    @Test
+    public void testCountByLocationReadsOneLocationTotalsRow() {
+        //when
+        String plan = explain("from location_totals", () -> warehouseRepository.countByLocation("ZWOLLE-001"));
+
+        //then
+        assertUsesIndex(plan, LOCATION_TOTALS_KEY);
+    }
+
+    @Test
+    public void testListPagePagesThroughPrimaryKey() {
+        //when
+        String plan = explain("from warehouse w1_0", () -> warehouseRepository.getWarehousesPage(3L, 100));
+
+        //then
+        assertUsesIndex(plan, PRIMARY_KEY);
+    }
+
+    @Test
+    public void testSearchByCapacityPagesThroughCapacityIndex() {
+        //given
+        WarehouseSearchCriteria criteria = WarehouseSearchCriteria.builder()
+                .status(WarehouseSearchCriteria.Status.ACTIVE)
+                .minCapacity(50)
+                .sort(WarehouseSearchCriteria.SortField.CAPACITY)
+                .after(new WarehouseSearchCursor(50, 3))
+                .limit(100)
+                .build();
+
+        //when
+        String plan = explain("from warehouse w1_0", () -> warehouseRepository.search(criteria));
+
+        //then
+        assertUsesIndex(plan, CAPACITY_INDEX);
+        // the stock of every row adds its pending movements through the ledger index
+        assertUsesIndex(plan, MOVEMENT_INDEX);
+    }
+
+    @Test
+    public void testSearchByLocationUsesLocationIndex() {
+        //given
+        WarehouseSearchCriteria criteria = WarehouseSearchCriteria.builder()
+                .location("ZWOLLE-001")
+                .status(WarehouseSearchCriteria.Status.ACTIVE)
+                .sort(WarehouseSearchCriteria.SortField.ID)
+                .limit(100)
+                .build();
+
+        //when
+        String plan = explain("from warehouse w1_0", () -> warehouseRepository.search(criteria));
+
+        //then
+        assertUsesIndex(plan, LOCATION_INDEX);
+    }
+
+    @Test
+    public void testPendingDeltasUsesMovementIndex() {
+        //when
+        String plan = explain("from warehouse_stock_movement", () -> stockLedgerRepository.pendingDeltas(List.of(1L, 2L)));
+
+        //then
+        assertUsesIndex(plan, MOVEMENT_INDEX);
+    }
+
+    // the generic plan of the one statement the action sent that contains the fragment, compared in lower case;
+    // Hibernate aliases the first warehouse table w1_0
+    private String explain(String fragment, Runnable action) {
+        List<String> statements = SqlStatements.record(action).countsBySql().keySet().stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).contains(fragment))
+                .toList();
+        assertEquals(1, statements.size(), () -> "Expected one statement containing " + fragment + " but got " + statements);
+
+        entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+        entityManager.createNativeQuery("SET LOCAL plan_cache_mode = force_generic_plan").executeUpdate();
+        NumberedSql statement = numberPlaceholders(statements.get(0));
+        entityManager.createNativeQuery("PREPARE plan_test AS " + statement.sql()).executeUpdate();
+        try {
+            StringJoiner nulls = new StringJoiner(", ", "(", ")").setEmptyValue("");
+            for (int i = 0; i < statement.parameters(); i++) {
+                nulls.add("NULL");
+            }
+            @SuppressWarnings("unchecked")
+            List<String> lines = entityManager.createNativeQuery("EXPLAIN EXECUTE plan_test" + nulls).getResultList();
+            return String.join("\n", lines);
+        } finally {
+            entityManager.createNativeQuery("DEALLOCATE plan_test").executeUpdate();
+        }
+    }
+
+    private record NumberedSql(String sql, int parameters) {
+    }
+
+    // JDBC ? placeholders become $1, $2, ... as PREPARE expects them
+    private static NumberedSql numberPlaceholders(String sql) {
+        StringBuilder numbered = new StringBuilder(sql.length());
+        int parameters = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameters);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return new NumberedSql(numbered.toString(), parameters);
+    }
+
+    private static void assertUsesIndex(String plan, String index) {
+        assertTrue(plan.contains(index), () -> "Expected the plan to use " + index + " but was:\n" + plan);
+    }
+}
@@ -0,0 +1,60 @@
+package com.fulfilment.application.monolith.warehouses.adapters.database;
+
+import com.fulfilment.application.monolith.metrics.SqlStatements;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.validation.WarehouseValidator;
+import io.quarkus.test.TestTransaction;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Guards the number of queries behind batch validation: lookups are made per batch and per location, never per
+ * warehouse. Validation locks the locations, so it runs in a transaction that is rolled back afterwards.
+ */
+@QuarkusTest
+public class WarehouseStatementBudgetTest {
+
+    private static final List<String> LOCATIONS = List.of("AMSTERDAM-001", "AMSTERDAM-002", "EINDHOVEN-001");
+
+    @Inject
+    WarehouseValidator warehouseValidator;
+
+    @Test
+    @TestTransaction
+    public void testBatchValidationQueriesOncePerLocation() {
+        //given
+        List<Warehouse> warehouses = warehouses(30);
+
+        //when
+        //then
+        SqlStatements.assertAtMost(1 + 2 * LOCATIONS.size(), () -> warehouseValidator.validateForBatchCreateWarehouses(warehouses));
+    }
+
+    @Test
+    @TestTransaction
+    public void testBatchValidationDoesNotRepeatLookupsPerWarehouse() {
+        //given
+        List<Warehouse> warehouses = warehouses(30);
+
+        //when
+        //then
+        SqlStatements.assertNoStatementRepeatedMoreThan(LOCATIONS.size(), () -> warehouseValidator.validateForBatchCreateWarehouses(warehouses));
+    }
+
+    private static List<Warehouse> warehouses(int count) {
+        List<Warehouse> warehouses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            warehouses.add(Warehouse.builder()
+                    .businessUnitCode("MWH.BUDGET." + i)
+                    .location(LOCATIONS.get(i % LOCATIONS.size()))
+                    .capacity(5)
+                    .stock(1)
+                    .build());
+        }
+        return warehouses;
+    }
+}
@@ -0,0 +1,103 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.fulfilment.application.monolith.exception.WarehouseNotFoundException;
+import com.fulfilment.application.monolith.exception.WarehouseValidationException;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveCreateWarehouseOperation;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import com.fulfilment.application.monolith.warehouses.domain.usecases.ReactiveArchiveWarehouseUseCase;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveWarehouseResourceTest {
+
+    @Mock
+    private ReactiveWarehouseStore warehouseStore;
+
+    @Mock
+    private ReactiveCreateWarehouseOperation createWarehouseOperation;
+
+    private ReactiveWarehouseResource warehouseResource;
+
+    @BeforeEach
+    public void createResource() {
+        warehouseResource = new ReactiveWarehouseResource(warehouseStore, createWarehouseOperation,
+                new ReactiveArchiveWarehouseUseCase(warehouseStore));
+    }
+
+    @Test
+    public void testArchivingAReplacedWarehouseLeavesItsSuccessorAlone() {
+        //given
+        Warehouse replaced = Warehouse.builder().wareHouseId(1L).businessUnitCode("MWH.001")
+                .archivedAt(ZonedDateTime.now()).build();
+        Mockito.when(warehouseStore.findByWarehouseId(1L)).thenReturn(Uni.createFrom().item(replaced));
+
+        //when
+        Uni<Void> archived = warehouseResource.archiveAWarehouseUnitByID("1");
+
+        //then
+        assertThrows(WarehouseValidationException.class, () -> archived.await().indefinitely());
+        Mockito.verify(warehouseStore, Mockito.never()).findByBusinessUnitCode(Mockito.any());
+        Mockito.verify(warehouseStore, Mockito.never()).archive(Mockito.any());
+    }
+
+    @Test
+    public void testArchivingAnActiveWarehouseArchivesItById() {
+        //given
+        Warehouse active = Warehouse.builder().wareHouseId(1L).businessUnitCode("MWH.001").build();
+        Mockito.when(warehouseStore.findByWarehouseId(1L)).thenReturn(Uni.createFrom().item(active));
+        Mockito.when(warehouseStore.archive(1L)).thenReturn(Uni.createFrom().voidItem());
+
+        //when
+        warehouseResource.archiveAWarehouseUnitByID("1").await().indefinitely();
+
+        //then
+        Mockito.verify(warehouseStore).archive(1L);
+    }
+
+    @Test
+    public void testNonNumericIdIsNotFound() {
+        //when
+        Uni<com.warehouse.api.beans.Warehouse> warehouse = warehouseResource.getAWarehouseUnitByID("MWH.001");
+
+        //then
+        assertThrows(WarehouseNotFoundException.class, () -> warehouse.await().indefinitely());
+        Mockito.verifyNoInteractions(warehouseStore);
+    }
+
+    @Test
+    public void testListWithoutPagingParametersReturnsEveryWarehouse() {
+        //given
+        Mockito.when(warehouseStore.getAllWarehouses()).thenReturn(Uni.createFrom().item(List.of()));
+
+        //when
+        warehouseResource.listAllWarehousesUnits(null, null).await().indefinitely();
+
+        //then
+        Mockito.verify(warehouseStore, Mockito.never()).getWarehousesPage(Mockito.any(), Mockito.anyInt());
+    }
+
+    @Test
+    public void testListWithOnlyACursorReturnsADefaultPage() {
+        //given
+        Mockito.when(warehouseStore.getWarehousesPage(7L, 100)).thenReturn(Uni.createFrom().item(List.of()));
+
+        //when
+        warehouseResource.listAllWarehousesUnits(7L, null).await().indefinitely();
+
+        //then
+        Mockito.verify(warehouseStore).getWarehousesPage(7L, 100);
+        Mockito.verify(warehouseStore, Mockito.never()).getAllWarehouses();
+    }
+}
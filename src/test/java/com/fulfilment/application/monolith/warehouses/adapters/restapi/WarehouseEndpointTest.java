@@ -0,0 +1,208 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.path.json.JsonPath;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+public class WarehouseEndpointTest {
+
+  private static final String PATH = "warehouse";
+
+  @Test
+  public void testGetAndArchiveById() {
+    // Create a warehouse to work on, so the sample warehouses stay as they are:
+    String id = given()
+        .contentType("application/json")
+        .body("{\"businessUnitCode\": \"MWH.BYID\", \"location\": \"VETSBY-001\", \"capacity\": 20, \"stock\": 5}")
+        .when()
+        .post(PATH)
+        .then()
+        .statusCode(200)
+        .extract()
+        .path("id");
+
+    // Read it back by its id:
+    given()
+        .when()
+        .get(PATH + "/" + id)
+        .then()
+        .statusCode(200)
+        .body("businessUnitCode", equalTo("MWH.BYID"), "location", equalTo("VETSBY-001"));
+
+    // Archive it:
+    given().when().delete(PATH + "/" + id).then().statusCode(204);
+
+    // It is no longer among the active warehouses, but listed as archived:
+    given()
+        .when()
+        .get(PATH + "/search?location=VETSBY-001")
+        .then()
+        .statusCode(200)
+        .body(not(containsString("MWH.BYID")));
+    given()
+        .when()
+        .get(PATH + "/search?location=VETSBY-001&status=archived")
+        .then()
+        .statusCode(200)
+        .body(containsString("MWH.BYID"));
+  }
+
+  @Test
+  public void testUnknownIdsAreNotFound() {
+    given().when().get(PATH + "/999999").then().statusCode(400);
+    given().when().get(PATH + "/not-a-number").then().statusCode(400);
+    given().when().delete(PATH + "/999999").then().statusCode(400);
+    given().when().delete(PATH + "/not-a-number").then().statusCode(400);
+  }
+
+  @Test
+  public void testConcurrentCreatesRespectTheLocationLimit() throws Exception {
+    // HELMOND-001 takes a single warehouse, two creates race for it:
+    CyclicBarrier start = new CyclicBarrier(2);
+    List<Future<Integer>> statuses = new ArrayList<>();
+    try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+      for (int i = 0; i < 2; i++) {
+        String body = "{\"businessUnitCode\": \"MWH.RACE." + i + "\", \"location\": \"HELMOND-001\", \"capacity\": 20, \"stock\": 5}";
+        statuses.add(executor.submit(() -> {
+          start.await();
+          return given().contentType("application/json").body(body).when().post(PATH).then().extract().statusCode();
+        }));
+      }
+    }
+
+    // Exactly one of them is created, the other is rejected:
+    List<Integer> codes = new ArrayList<>();
+    for (Future<Integer> status : statuses) {
+      codes.add(status.get());
+    }
+    assertEquals(1, codes.stream().filter(code -> code == 200).count(), "statuses " + codes);
+    assertEquals(1, codes.stream().filter(code -> code == 400).count(), "statuses " + codes);
+    given()
+        .when()
+        .get(PATH + "/search?location=HELMOND-001")
+        .then()
+        .statusCode(200)
+        .body("warehouses.size()", equalTo(1));
+  }
+
+  @Test
+  public void testLocationIsStoredAsRegistered() {
+    // The location is matched regardless of case:
+    given()
+        .contentType("application/json")
+        .body("{\"businessUnitCode\": \"MWH.CASE\", \"location\": \"eindhoven-001\", \"capacity\": 20, \"stock\": 5}")
+        .when()
+        .post(PATH)
+        .then()
+        .statusCode(200)
+        .body("location", equalTo("EINDHOVEN-001"));
+
+    // And found under the registered spelling:
+    given()
+        .when()
+        .get(PATH + "/search?location=EINDHOVEN-001")
+        .then()
+        .statusCode(200)
+        .body(containsString("MWH.CASE"));
+  }
+
+  @Test
+  public void testSearchFiltersAndSortsOnTheStockIncludingMovements() {
+    String id = given()
+        .contentType("application/json")
+        .body("{\"businessUnitCode\": \"MWH.MOVED\", \"location\": \"ZWOLLE-002\", \"capacity\": 40, \"stock\": 5}")
+        .when()
+        .post(PATH)
+        .then()
+        .statusCode(200)
+        .extract()
+        .path("id");
+    given()
+        .contentType("application/json")
+        .body("[{\"warehouseId\": \"" + id + "\", \"delta\": 30}]")
+        .when()
+        .post(PATH + "/stock-movements")
+        .then()
+        .statusCode(204);
+
+    // Found by the stock it is returned with, whether or not the movement was compacted yet:
+    given()
+        .when()
+        .get(PATH + "/search?location=ZWOLLE-002&minStock=35&sort=stock&direction=desc")
+        .then()
+        .statusCode(200)
+        .body("warehouses.businessUnitCode", hasItem("MWH.MOVED"), "warehouses[0].stock", equalTo(35));
+    given()
+        .when()
+        .get(PATH + "/search?location=ZWOLLE-002&minFreeCapacity=30")
+        .then()
+        .statusCode(200)
+        .body(not(containsString("MWH.MOVED")));
+
+    given().when().delete(PATH + "/" + id).then().statusCode(204);
+  }
+
+  @Test
+  public void testListPagesThroughTheWarehousesById() {
+    // Without paging parameters every warehouse is listed:
+    List<String> all = given().when().get(PATH).then().statusCode(200).extract().path("id");
+
+    // A page starts after the cursor and holds at most limit warehouses:
+    given()
+        .when()
+        .get(PATH + "?limit=2")
+        .then()
+        .statusCode(200)
+        .body("id", equalTo(all.subList(0, 2)));
+    given()
+        .when()
+        .get(PATH + "?after=" + all.get(1) + "&limit=1")
+        .then()
+        .statusCode(200)
+        .body("id", equalTo(all.subList(2, 3)));
+
+    // The limit is raised to at least one warehouse, and a cursor past the last one gives an empty page:
+    given().when().get(PATH + "?limit=0").then().statusCode(200).body("id", equalTo(all.subList(0, 1)));
+    given()
+        .when()
+        .get(PATH + "?after=" + all.get(all.size() - 1))
+        .then()
+        .statusCode(200)
+        .body("size()", equalTo(0));
+  }
+
+  @Test
+  public void testStreamWritesEveryWarehouseAsNdjson() {
+    List<String> all = given().when().get(PATH).then().statusCode(200).extract().path("id");
+
+    String body = given()
+        .when()
+        .get(PATH + "/stream")
+        .then()
+        .statusCode(200)
+        .contentType("application/x-ndjson")
+        .extract()
+        .asString();
+
+    List<String> lines = body.lines().toList();
+    assertEquals(all.size(), lines.size());
+    for (int i = 0; i < lines.size(); i++) {
+      assertEquals(all.get(i), JsonPath.from(lines.get(i)).getString("id"));
+    }
+  }
+}
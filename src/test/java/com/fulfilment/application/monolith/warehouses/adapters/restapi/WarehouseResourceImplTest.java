@@ -0,0 +1,58 @@
+package com.fulfilment.application.monolith.warehouses.adapters.restapi;
+
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+public class WarehouseResourceImplTest {
+
+    @InjectMocks
+    private WarehouseResourceImpl warehouseResource;
+
+    @Mock
+    private WarehouseStore warehouseStore;
+
+    @Test
+    public void testListWithoutPagingParametersReturnsEveryWarehouse() {
+        //given
+        Mockito.when(warehouseStore.getAllWarehouses()).thenReturn(List.of());
+
+        //when
+        warehouseResource.listAllWarehousesUnits(null, null);
+
+        //then
+        Mockito.verify(warehouseStore, Mockito.never()).getWarehousesPage(Mockito.any(), Mockito.anyInt());
+    }
+
+    @Test
+    public void testListWithOnlyACursorReturnsADefaultPage() {
+        //given
+        Mockito.when(warehouseStore.getWarehousesPage(7L, 100)).thenReturn(List.of());
+
+        //when
+        warehouseResource.listAllWarehousesUnits(7L, null);
+
+        //then
+        Mockito.verify(warehouseStore).getWarehousesPage(7L, 100);
+    }
+
+    @Test
+    public void testListLimitIsCapped() {
+        //given
+        Mockito.when(warehouseStore.getWarehousesPage(null, 1000)).thenReturn(List.of());
+
+        //when
+        warehouseResource.listAllWarehousesUnits(null, 5000);
+
+        //then
+        Mockito.verify(warehouseStore).getWarehousesPage(null, 1000);
+        Mockito.verify(warehouseStore, Mockito.never()).getAllWarehouses();
+    }
+}
@@ -0,0 +1,68 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseCreationResult;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
+import com.fulfilment.application.monolith.warehouses.validation.DefaultWarehouseValidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(MockitoExtension.class)
+public class BatchCreateWarehouseUseCaseTest {
+
+    @InjectMocks
+    private BatchCreateWarehouseUseCase batchCreateWarehouseUseCase;
+
+    @Mock
+    private WarehouseStore warehouseStore;
+
+    @Mock
+    private DefaultWarehouseValidator validator;
+
+    @Test
+    public void testCreatingBatchOnlyPersistsValidWarehouses() {
+        //given
+        Warehouse valid = new Warehouse();
+        valid.setBusinessUnitCode("1");
+        Warehouse invalid = new Warehouse();
+        invalid.setBusinessUnitCode("2");
+        List<Warehouse> warehouses = List.of(valid, invalid);
+
+        //when
+        Mockito.when(validator.validateForBatchCreateWarehouses(warehouses)).thenReturn(Map.of(1, "Invalid warehouse location: ncr"));
+        List<WarehouseCreationResult> results = batchCreateWarehouseUseCase.createAll(warehouses);
+
+        //then
+        Mockito.verify(warehouseStore).createAll(List.of(valid));
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isCreated());
+        assertFalse(results.get(1).isCreated());
+        assertEquals("Invalid warehouse location: ncr", results.get(1).error());
+    }
+
+    @Test
+    public void testCreatingBatchWithoutValidWarehousesDoesNotTouchTheStore() {
+        //given
+        Warehouse invalid = new Warehouse();
+        invalid.setBusinessUnitCode("1");
+        List<Warehouse> warehouses = List.of(invalid);
+
+        //when
+        Mockito.when(validator.validateForBatchCreateWarehouses(warehouses)).thenReturn(Map.of(0, "Warehouse with businessUnitCode '1' already exists"));
+        batchCreateWarehouseUseCase.createAll(warehouses);
+
+        //then
+        Mockito.verifyNoInteractions(warehouseStore);
+    }
+}
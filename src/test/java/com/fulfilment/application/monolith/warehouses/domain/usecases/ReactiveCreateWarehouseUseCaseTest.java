@@ -0,0 +1,82 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.exception.WarehouseValidationException;
+import com.fulfilment.application.monolith.warehouses.domain.models.Location;
+import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.models.WarehouseCreationCheck;
+import com.fulfilment.application.monolith.warehouses.domain.ports.LocationResolver;
+import com.fulfilment.application.monolith.warehouses.domain.ports.ReactiveWarehouseStore;
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveCreateWarehouseUseCaseTest {
+
+    @InjectMocks
+    private ReactiveCreateWarehouseUseCase createWarehouseUseCase;
+
+    @Mock
+    private ReactiveWarehouseStore warehouseStore;
+
+    @Mock
+    private LocationResolver locationResolver;
+
+    @Test
+    public void testCreatingAlreadyExistingWarehouse() {
+        //given
+        Warehouse warehouse = Warehouse.builder().businessUnitCode("1").location("ncr").capacity(10).stock(5).build();
+
+        //when
+        Mockito.when(locationResolver.resolveByIdentifier("ncr")).thenReturn(new Location("ncr", 2, 30));
+        storeReads(warehouse, new WarehouseCreationCheck(true, 0, 0));
+
+        //then
+        assertThrows(WarehouseValidationException.class, () -> createWarehouseUseCase.create(warehouse).await().indefinitely());
+    }
+
+    @Test
+    public void testCreatingWarehouseAtLocationWithMaxCountReached() {
+        //given
+        Warehouse warehouse = Warehouse.builder().businessUnitCode("1").location("ncr").capacity(10).stock(5).build();
+
+        //when
+        Mockito.when(locationResolver.resolveByIdentifier("ncr")).thenReturn(new Location("ncr", 2, 30));
+        storeReads(warehouse, new WarehouseCreationCheck(false, 2, 0));
+
+        //then
+        assertThrows(WarehouseValidationException.class, () -> createWarehouseUseCase.create(warehouse).await().indefinitely());
+    }
+
+    @Test
+    public void testCreatingValidWarehouse() {
+        //given
+        Warehouse warehouse = Warehouse.builder().businessUnitCode("1").location("ncr").capacity(10).stock(5).build();
+
+        //when
+        Mockito.when(locationResolver.resolveByIdentifier("ncr")).thenReturn(new Location("NCR", 2, 30));
+        storeReads(warehouse, new WarehouseCreationCheck(false, 1, 20));
+
+        //then
+        assertEquals(warehouse, createWarehouseUseCase.create(warehouse).await().indefinitely());
+        assertEquals("NCR", warehouse.getLocation());
+    }
+
+    // the store runs the checks against what it read under the location lock, and inserts when they pass
+    @SuppressWarnings("unchecked")
+    private void storeReads(Warehouse warehouse, WarehouseCreationCheck check) {
+        Mockito.when(warehouseStore.create(Mockito.eq(warehouse), Mockito.any())).thenAnswer(invocation -> {
+            ((Consumer<WarehouseCreationCheck>) invocation.getArgument(1)).accept(check);
+            return Uni.createFrom().item(warehouse);
+        });
+    }
+}
@@ -0,0 +1,68 @@
+package com.fulfilment.application.monolith.warehouses.domain.usecases;
+
+import com.fulfilment.application.monolith.exception.WarehouseValidationException;
+import com.fulfilment.application.monolith.warehouses.domain.models.StockMovement;
+import com.fulfilment.application.monolith.warehouses.domain.ports.StockLedger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+
+@ExtendWith(MockitoExtension.class)
+public class RecordStockMovementsUseCaseTest {
+
+    @InjectMocks
+    private RecordStockMovementsUseCase recordStockMovementsUseCase;
+
+    @Mock
+    private StockLedger stockLedger;
+
+    @Test
+    public void testWhenNoMovementsAreRecorded() {
+        //when
+        //then
+        assertThrows(WarehouseValidationException.class, () -> recordStockMovementsUseCase.record(List.of()));
+        Mockito.verify(stockLedger, Mockito.never()).append(any());
+    }
+
+    @Test
+    public void testWhenMovementDoesNotChangeTheStock() {
+        //given
+        List<StockMovement> movements = List.of(new StockMovement(1L, 5), new StockMovement(2L, 0));
+
+        //when
+        //then
+        assertThrows(WarehouseValidationException.class, () -> recordStockMovementsUseCase.record(movements));
+        Mockito.verify(stockLedger, Mockito.never()).append(any());
+    }
+
+    @Test
+    public void testWhenMovementHasNoWarehouse() {
+        //given
+        List<StockMovement> movements = List.of(new StockMovement(null, 5));
+
+        //when
+        //then
+        assertThrows(WarehouseValidationException.class, () -> recordStockMovementsUseCase.record(movements));
+        Mockito.verify(stockLedger, Mockito.never()).append(any());
+    }
+
+    @Test
+    public void testValidMovementsAreAppendedToTheLedger() {
+        //given
+        List<StockMovement> movements = List.of(new StockMovement(1L, 5), new StockMovement(1L, -3));
+
+        //when
+        recordStockMovementsUseCase.record(movements);
+
+        //then
+        Mockito.verify(stockLedger).append(movements);
+    }
+}
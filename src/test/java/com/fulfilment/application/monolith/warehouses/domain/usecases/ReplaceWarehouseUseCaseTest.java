@@ -1,9 +1,11 @@
 package com.fulfilment.application.monolith.warehouses.domain.usecases;
 
 import com.fulfilment.application.monolith.exception.InvalidLocationException;
+import com.fulfilment.application.monolith.exception.WarehouseConflictException;
 import com.fulfilment.application.monolith.exception.WarehouseNotFoundException;
 import com.fulfilment.application.monolith.exception.WarehouseValidationException;
 import com.fulfilment.application.monolith.warehouses.domain.models.Warehouse;
+import com.fulfilment.application.monolith.warehouses.domain.ports.WarehouseStore;
 import com.fulfilment.application.monolith.warehouses.validation.DefaultWarehouseValidator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,6 +14,7 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,6 +26,68 @@ public class ReplaceWarehouseUseCaseTest {
     @Mock
     private DefaultWarehouseValidator validator;
 
+    @Mock
+    private WarehouseStore warehouseStore;
+
+    @Test
+    public void testReplacingWarehouseArchivesValidatedWarehouseAndCreatesSuccessor() {
+        //given
+        Warehouse existing = new Warehouse();
+        existing.setWareHouseId(7L);
+        existing.setBusinessUnitCode("1");
+        existing.setVersion(3L);
+
+        Warehouse warehouse = new Warehouse();
+        warehouse.setBusinessUnitCode("1");
+
+        //when
+        Mockito.when(validator.validateForReplaceWarehouse(warehouse)).thenReturn(existing);
+        replaceWarehouseUseCase.replace(warehouse);
+
+        //then
+        Mockito.verify(warehouseStore).replace(existing, warehouse);
+        assertEquals(3L, existing.getVersion());
+    }
+
+    @Test
+    public void testReplacingWarehouseIsConditionalOnVersionReadByCaller() {
+        //given
+        Warehouse existing = new Warehouse();
+        existing.setWareHouseId(7L);
+        existing.setBusinessUnitCode("1");
+        existing.setVersion(3L);
+
+        Warehouse warehouse = new Warehouse();
+        warehouse.setBusinessUnitCode("1");
+        warehouse.setVersion(2L);
+
+        //when
+        Mockito.when(validator.validateForReplaceWarehouse(warehouse)).thenReturn(existing);
+        replaceWarehouseUseCase.replace(warehouse);
+
+        //then
+        Mockito.verify(warehouseStore).replace(existing, warehouse);
+        assertEquals(2L, existing.getVersion());
+    }
+
+    @Test
+    public void testReplacingWarehouseWithConcurrentChange() {
+        //given
+        Warehouse existing = new Warehouse();
+        existing.setWareHouseId(7L);
+        existing.setVersion(3L);
+
+        Warehouse warehouse = new Warehouse();
+        warehouse.setBusinessUnitCode("1");
+
+        //when
+        Mockito.when(validator.validateForReplaceWarehouse(warehouse)).thenReturn(existing);
+        Mockito.doThrow(new WarehouseConflictException("Warehouse was replaced")).when(warehouseStore).replace(existing, warehouse);
+
+        //then
+        assertThrows(WarehouseConflictException.class, () -> replaceWarehouseUseCase.replace(warehouse));
+    }
+
     @Test
     public void testUpdatingNonExistingWarehouse() {
         //given
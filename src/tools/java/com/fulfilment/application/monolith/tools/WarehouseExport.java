@@ -0,0 +1,55 @@
+package com.fulfilment.application.monolith.tools;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+/**
+ * Saves the warehouse export of a running application ({@code GET /warehouse/export}, gzip compressed NDJSON) to a
+ * file. The body is copied from the connection into a {@link FileChannel} chunk by chunk and only moved to the
+ * target path once complete, so a failed export never leaves a truncated file behind.
+ *
+ * <p>Arguments: {@code baseUrl outputFile}, for example {@code http://localhost:8080 target/warehouses.ndjson.gz}.
+ */
+public class WarehouseExport {
+
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        Path target = Path.of(args.length > 1 ? args[1] : "warehouses.ndjson.gz").toAbsolutePath();
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/warehouse/export")).GET().build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() != 200) {
+            response.body().close();
+            System.err.printf("Export failed with HTTP %d%n", response.statusCode());
+            System.exit(1);
+        }
+
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        long bytes = 0;
+        try (ReadableByteChannel in = Channels.newChannel(response.body());
+             FileChannel out = FileChannel.open(partial, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            long transferred;
+            while ((transferred = out.transferFrom(in, bytes, TRANSFER_CHUNK)) > 0) {
+                bytes += transferred;
+            }
+            out.force(true);
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        System.out.printf("Exported %d bytes to %s%n", bytes, target);
+    }
+}